@@ -0,0 +1,68 @@
+package br.com.codenation.logstackapi.cache;
+
+import br.com.codenation.logstackapi.model.entity.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+public class ApiKeyCache {
+
+    private final Cache<UUID, Customer> customers;
+    private final Cache<UUID, Boolean> invalidKeys;
+
+    @Autowired
+    public ApiKeyCache(MeterRegistry registry,
+                       @Value("${app.cache.api-key.max-size:10000}") Long maxSize,
+                       @Value("${app.cache.api-key.ttl-seconds:300}") Long ttlSeconds,
+                       @Value("${app.cache.api-key.invalid.max-size:10000}") Long invalidMaxSize,
+                       @Value("${app.cache.api-key.invalid.ttl-seconds:30}") Long invalidTtlSeconds) {
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.invalidKeys = Caffeine.newBuilder()
+                .maximumSize(invalidMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(invalidTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, customers, "logstack.api-key.customers");
+        CaffeineCacheMetrics.monitor(registry, invalidKeys, "logstack.api-key.invalid");
+    }
+
+    public Optional<Customer> get(UUID apiKey, Function<UUID, Optional<Customer>> loader) {
+        Customer customer = customers.getIfPresent(apiKey);
+        if (customer != null) return Optional.of(customer);
+        if (invalidKeys.getIfPresent(apiKey) != null) return Optional.empty();
+
+        Optional<Customer> loaded = loader.apply(apiKey);
+        if (loaded.isPresent()) {
+            customers.put(apiKey, loaded.get());
+        } else {
+            invalidKeys.put(apiKey, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    public void invalidate(UUID apiKey) {
+        customers.invalidate(apiKey);
+        invalidKeys.invalidate(apiKey);
+    }
+
+    public void invalidateAll() {
+        customers.invalidateAll();
+        invalidKeys.invalidateAll();
+    }
+
+}
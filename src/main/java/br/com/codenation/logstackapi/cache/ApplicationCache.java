@@ -0,0 +1,53 @@
+package br.com.codenation.logstackapi.cache;
+
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+@Component
+public class ApplicationCache {
+
+    private final Cache<Key, LogApplication> applications;
+
+    @Autowired
+    public ApplicationCache(MeterRegistry registry,
+                            @Value("${app.cache.application.max-size:100000}") Long maxSize) {
+        this.applications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, applications, "logstack.application.dictionary");
+    }
+
+    public LogApplication get(LogApplication application, Function<LogApplication, LogApplication> loader) {
+        Key key = new Key(application.getName(), application.getHost(), application.getIp(), application.getEnvironment());
+        return applications.get(key, k -> loader.apply(application));
+    }
+
+    public void invalidateAll() {
+        applications.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+
+        private final String name;
+        private final String host;
+        private final String ip;
+        private final LogEnvironment environment;
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.codenation.logstackapi.cache;
+
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import br.com.codenation.logstackapi.model.enums.LogSearchMatch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class LogCountCache {
+
+    private final Cache<Key, Long> counts;
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LogCountCache(MeterRegistry registry,
+                         @Value("${app.cache.log-count.max-size:10000}") Long maxSize,
+                         @Value("${app.cache.log-count.ttl-seconds:30}") Long ttlSeconds) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, counts, "logstack.log.count");
+    }
+
+    public Key key(LogSearch search) {
+        UUID userId = search.getUser().getId();
+        return new Key(search, userId, versions.getOrDefault(userId, 0L));
+    }
+
+    public Long get(Key key) {
+        return counts.getIfPresent(key);
+    }
+
+    public void put(Key key, Long count) {
+        counts.put(key, count);
+    }
+
+    public void invalidate(List<Log> logs) {
+        logs.stream()
+                .map(Log::getCustomer)
+                .filter(Objects::nonNull)
+                .map(Customer::getUser)
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .distinct()
+                .forEach(userId -> versions.merge(userId, 1L, Long::sum));
+    }
+
+    @EqualsAndHashCode
+    public static class Key {
+
+        private final String title;
+        private final String appName;
+        private final String host;
+        private final String ip;
+        private final LogEnvironment environment;
+        private final String content;
+        private final LogSearchMatch match;
+        private final LogLevel level;
+        private final LocalDateTime startTimestamp;
+        private final LocalDateTime endTimestamp;
+        private final UUID userId;
+        private final Long version;
+
+        private Key(LogSearch search, UUID userId, Long version) {
+            this.title = normalize(search.getTitle());
+            this.appName = normalize(search.getAppName());
+            this.host = normalize(search.getHost());
+            this.ip = normalize(search.getIp());
+            this.environment = search.getEnvironment();
+            this.content = search.getContent();
+            this.match = search.getMatch() == null ? LogSearchMatch.CONTAINS : search.getMatch();
+            this.level = search.getLevel();
+            this.startTimestamp = search.getStartTimestamp();
+            this.endTimestamp = search.getEndTimestamp();
+            this.userId = userId;
+            this.version = version;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+
+    }
+
+}
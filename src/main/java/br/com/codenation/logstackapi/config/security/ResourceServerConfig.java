@@ -20,7 +20,10 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
     private static final String[] PUBLIC_MATCHERS_POST = {
             "/oauth/signup",
-            "/api/v1/logs"
+            "/api/v1/logs",
+            "/api/v1/logs/batch",
+            "/api/v1/logs/stream",
+            "/api/v1/logs/gelf"
     };
 
     @Override
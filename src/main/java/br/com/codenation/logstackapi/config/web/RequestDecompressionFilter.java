@@ -0,0 +1,82 @@
+package br.com.codenation.logstackapi.config.web;
+
+import br.com.codenation.logstackapi.ingestion.LimitedInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final String SUPPORTED_ENCODINGS = "gzip, deflate";
+    private static final Integer BUFFER_SIZE = 8192;
+
+    private final Long maxDecompressedBytes;
+
+    public RequestDecompressionFilter(Long maxDecompressedBytes) {
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.trim().isEmpty() || "identity".equalsIgnoreCase(encoding.trim())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        InputStream decompressed;
+        switch (encoding.trim().toLowerCase()) {
+            case "gzip":
+            case "x-gzip":
+                decompressed = new GZIPInputStream(request.getInputStream(), BUFFER_SIZE);
+                break;
+            case "deflate":
+                decompressed = inflate(request.getInputStream());
+                break;
+            default:
+                response.setHeader(HttpHeaders.ACCEPT_ENCODING, SUPPORTED_ENCODINGS);
+                response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                        "Unsupported Content-Encoding " + encoding + ". Supported encodings are " + SUPPORTED_ENCODINGS);
+                return;
+        }
+
+        try (InputStream limited = new LimitedInputStream(decompressed, maxDecompressedBytes)) {
+            chain.doFilter(new DecompressedRequestWrapper(request, limited), response);
+        }
+    }
+
+    private InputStream inflate(InputStream body) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body, BUFFER_SIZE);
+        in.mark(2);
+        int cmf = in.read();
+        int flg = in.read();
+        in.reset();
+
+        boolean zlib = cmf != -1 && flg != -1 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        return new InflaterInputStream(in, new Inflater(!zlib), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inf.end();
+                }
+            }
+        };
+    }
+
+}
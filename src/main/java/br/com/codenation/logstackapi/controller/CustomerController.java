@@ -14,6 +14,7 @@ import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -42,4 +43,19 @@ public class CustomerController {
         return mapper.map(customerService.findByUser(user).orElse(new Customer()));
     }
 
+    @ApiOperation(
+            value = "Gera uma nova chave de API para o cliente autenticado",
+            notes = "Método utilizado para substituir a chave de API do cliente autenticado. A chave anterior deixa de ser aceita."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Chave de API substituída", response = CustomerResponseDTO.class),
+            @ApiResponse(code = 404, message = "Cliente não encontrado", response = ApiError.class),
+            @ApiResponse(code = 500, message = "Erro na api", response = ApiError.class)
+    })
+    @PutMapping(value = "/customers/self/api-key", produces = MediaType.APPLICATION_JSON_VALUE)
+    private CustomerResponseDTO rotateApiKey() {
+        User user = securityService.getUserAuthenticated();
+        return mapper.map(customerService.rotateApiKey(user));
+    }
+
 }
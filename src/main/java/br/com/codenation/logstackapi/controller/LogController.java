@@ -1,14 +1,29 @@
 package br.com.codenation.logstackapi.controller;
 
+import br.com.codenation.logstackapi.dto.request.GelfRequestDTO;
 import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.dto.response.LogBatchResponseDTO;
 import br.com.codenation.logstackapi.dto.response.LogDetailResponseDTO;
+import br.com.codenation.logstackapi.dto.response.LogIngestionSummaryResponseDTO;
 import br.com.codenation.logstackapi.dto.response.LogResponseDTO;
+import br.com.codenation.logstackapi.dto.response.LogSliceResponseDTO;
 import br.com.codenation.logstackapi.exception.ApiError;
+import br.com.codenation.logstackapi.exception.InvalidLogException;
+import br.com.codenation.logstackapi.gelf.GelfLogMapper;
+import br.com.codenation.logstackapi.ingestion.LogCodec;
+import br.com.codenation.logstackapi.ingestion.LogIngestionBuffer;
+import br.com.codenation.logstackapi.ingestion.LogIngestionJournal;
+import br.com.codenation.logstackapi.ingestion.NdjsonLogIngester;
 import br.com.codenation.logstackapi.mappers.LogMapper;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
 import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
 import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.model.enums.LogCountMode;
 import br.com.codenation.logstackapi.model.enums.LogEnvironment;
 import br.com.codenation.logstackapi.model.enums.LogLevel;
+import br.com.codenation.logstackapi.model.enums.LogSearchMatch;
 import br.com.codenation.logstackapi.service.LogService;
 import br.com.codenation.logstackapi.service.SecurityService;
 import com.opencsv.CSVWriter;
@@ -17,23 +32,29 @@ import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import com.opencsv.exceptions.CsvDataTypeMismatchException;
 import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -44,8 +65,20 @@ import java.util.UUID;
 @Api(tags = {"Logs"}, description = "Endpoint para gerenciamento dos logs")
 public class LogController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CBOR_VALUE = "application/cbor";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final Integer MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    private static final Integer MAX_BATCH_IDEMPOTENCY_KEY_LENGTH =
+            MAX_IDEMPOTENCY_KEY_LENGTH - (":" + (LogService.MAX_BATCH_SIZE - 1)).length();
+
     private SecurityService securityService;
     private LogService logService;
+    private LogIngestionBuffer ingestionBuffer;
+    private LogIngestionJournal ingestionJournal;
+    private NdjsonLogIngester ndjsonIngester;
+    private LogCodec logCodec;
+    private GelfLogMapper gelfMapper;
     private LogMapper mapper;
 
     @ApiOperation(
@@ -66,6 +99,7 @@ public class LogController {
             @RequestParam(value = "ip", required = false) Optional<String> ip,
             @RequestParam(value = "environment", required = false) Optional<LogEnvironment> environment,
             @RequestParam(value = "content", required = false) Optional<String> content,
+            @RequestParam(value = "match", required = false) Optional<LogSearchMatch> match,
             @RequestParam(value = "level", required = false) Optional<LogLevel> level,
             @RequestParam(value = "startTimestamp", required = false, defaultValue = "2019-09-01")
             @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startTimestamp,
@@ -84,13 +118,14 @@ public class LogController {
                 .ip(ip.map(String::toLowerCase).orElse(null))
                 .environment(environment.orElse(null))
                 .content(content.orElse(null))
+                .match(match.orElse(LogSearchMatch.CONTAINS))
                 .level(level.orElse(null))
                 .user(user)
                 .startTimestamp(LocalDateTime.of(startTimestamp, LocalTime.of(0, 0, 0)))
                 .endTimestamp(LocalDateTime.of(endTimestamp, LocalTime.of(23, 59, 59)))
                 .build();
 
-        List<LogResponseDTO> logs = logService.find(search, page, size, sort).map(mapper::map).getContent();
+        List<LogResponseDTO> logs = logService.find(search, page, size, sort, LogCountMode.NONE).map(mapper::map).getContent();
 
         String filename = "logs.csv";
 
@@ -124,6 +159,7 @@ public class LogController {
             @RequestParam(value = "host", required = false) Optional<String> host,
             @RequestParam(value = "ip", required = false) Optional<String> ip,
             @RequestParam(value = "content", required = false) Optional<String> content,
+            @RequestParam(value = "match", required = false) Optional<LogSearchMatch> match,
             @RequestParam(value = "environment", required = false) Optional<LogEnvironment> environment,
             @RequestParam(value = "level", required = false) Optional<LogLevel> level,
             @RequestParam(value = "startTimestamp", required = false, defaultValue = "2019-09-01")
@@ -131,7 +167,8 @@ public class LogController {
             @RequestParam(value = "endTimestamp", required = false, defaultValue = "2019-09-30")
             @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endTimestamp,
             @RequestParam(value = "page", defaultValue = "0") Integer page,
-            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "count", required = false) Optional<LogCountMode> count) {
 
         Sort sort = Sort.by(Sort.Direction.DESC, "detail.timestamp");
 
@@ -143,13 +180,64 @@ public class LogController {
                 .ip(ip.map(String::toLowerCase).orElse(null))
                 .environment(environment.orElse(null))
                 .content(content.orElse(null))
+                .match(match.orElse(LogSearchMatch.CONTAINS))
                 .level(level.orElse(null))
                 .user(user)
                 .startTimestamp(LocalDateTime.of(startTimestamp, LocalTime.of(0, 0, 0)))
                 .endTimestamp(LocalDateTime.of(endTimestamp, LocalTime.of(23, 59, 59)))
                 .build();
 
-        return logService.find(search, page, size, sort).map(mapper::map);
+        return logService.find(search, page, size, sort, count.orElse(LogCountMode.EXACT)).map(mapper::map);
+    }
+
+    @ApiOperation(
+            value = "Recupera os logs cadastrados por cursor",
+            notes = "Método utilizado para percorrer os logs do mais recente ao mais antigo sem contar o total. " +
+                    "Envie o parâmetro cursor vazio na primeira página e o valor de next nas seguintes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OK", response = LogSliceResponseDTO.class),
+            @ApiResponse(code = 400, message = "Requisição mal formatada", response = ApiError.class),
+            @ApiResponse(code = 500, message = "Erro na api", response = ApiError.class)
+    })
+    @GetMapping(value = "/logs", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    private LogSliceResponseDTO findSlice(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "title", required = false) Optional<String> title,
+            @RequestParam(value = "appName", required = false) Optional<String> appName,
+            @RequestParam(value = "host", required = false) Optional<String> host,
+            @RequestParam(value = "ip", required = false) Optional<String> ip,
+            @RequestParam(value = "content", required = false) Optional<String> content,
+            @RequestParam(value = "match", required = false) Optional<LogSearchMatch> match,
+            @RequestParam(value = "environment", required = false) Optional<LogEnvironment> environment,
+            @RequestParam(value = "level", required = false) Optional<LogLevel> level,
+            @RequestParam(value = "startTimestamp", required = false, defaultValue = "2019-09-01")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startTimestamp,
+            @RequestParam(value = "endTimestamp", required = false, defaultValue = "2019-09-30")
+            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endTimestamp,
+            @RequestParam(value = "size", defaultValue = "20") Integer size) {
+
+        User user = securityService.getUserAuthenticated();
+        LogSearch search = LogSearch.builder()
+                .title(title.map(String::toLowerCase).orElse(null))
+                .appName(appName.map(String::toLowerCase).orElse(null))
+                .host(host.map(String::toLowerCase).orElse(null))
+                .ip(ip.map(String::toLowerCase).orElse(null))
+                .environment(environment.orElse(null))
+                .content(content.orElse(null))
+                .match(match.orElse(LogSearchMatch.CONTAINS))
+                .level(level.orElse(null))
+                .user(user)
+                .startTimestamp(LocalDateTime.of(startTimestamp, LocalTime.of(0, 0, 0)))
+                .endTimestamp(LocalDateTime.of(endTimestamp, LocalTime.of(23, 59, 59)))
+                .build();
+
+        LogCursor after = cursor.isEmpty() ? null : LogCursor.decode(cursor);
+        Slice<Log> slice = logService.findSlice(search, after, size);
+        List<Log> logs = slice.getContent();
+        String next = slice.hasNext() ? LogCursor.after(logs.get(logs.size() - 1)).encode() : null;
+
+        return new LogSliceResponseDTO(mapper.map(logs), next);
     }
 
 
@@ -200,16 +288,104 @@ public class LogController {
 
     @ApiOperation(
             value = "Cria um log",
-            notes = "Método utilizado para criar um log"
+            notes = "Método utilizado para criar um log. Reenvios com a mesma chave de idempotência (cabeçalho Idempotency-Key ou campo idempotencyKey) retornam o log gravado originalmente."
     )
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Log criado", response = LogResponseDTO.class),
+            @ApiResponse(code = 202, message = "Log aceito para gravação assíncrona"),
             @ApiResponse(code = 400, message = "Requisão mal formatada", response = ApiError.class),
+            @ApiResponse(code = 429, message = "Fila ou journal de ingestão cheio, ou limite de ingestão excedido", response = ApiError.class),
             @ApiResponse(code = 500, message = "Erro na apo", response = ApiError.class)
     })
-    @PostMapping(value = "/logs", produces = MediaType.APPLICATION_JSON_VALUE)
-    private LogResponseDTO save(@RequestParam(value = "apiKey") UUID apiKey,
-                                @Valid @RequestBody LogRequestDTO dto) {
-        return mapper.map(logService.add(apiKey, dto));
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "log", paramType = "body", dataType = "LogRequestDTO", required = true)
+    })
+    @PostMapping(value = "/logs", consumes = {MediaType.APPLICATION_JSON_VALUE, CBOR_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    private ResponseEntity<LogResponseDTO> save(@RequestParam(value = "apiKey") UUID apiKey,
+                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                HttpServletRequest request) throws IOException {
+        List<LogViolation> violations = new ArrayList<>();
+        Log log = logCodec.decode(request.getInputStream(), request.getContentType().startsWith(CBOR_VALUE), violations);
+        if (!violations.isEmpty()) throw new InvalidLogException(violations);
+
+        if (log.getIdempotencyKey() == null) log.setIdempotencyKey(validIdempotencyKey(idempotencyKey, MAX_IDEMPOTENCY_KEY_LENGTH));
+        if (ingestionJournal.isEnabled()) {
+            ingestionJournal.append(apiKey, log);
+            return ResponseEntity.accepted().build();
+        }
+        if (ingestionBuffer.isEnabled()) {
+            ingestionBuffer.offer(logService.prepare(apiKey, log));
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.ok(mapper.map(logService.add(apiKey, log)));
     }
+
+    @ApiOperation(
+            value = "Cria logs em lote",
+            notes = "Método utilizado para criar vários logs em uma única requisição. Cada log é validado individualmente e o resultado é retornado por item. Com o cabeçalho Idempotency-Key, cada log sem chave própria recebe a chave do lote seguida de sua posição, e o reenvio do lote retorna os logs gravados originalmente."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Lote processado", response = LogBatchResponseDTO.class),
+            @ApiResponse(code = 400, message = "Requisão mal formatada", response = ApiError.class),
+            @ApiResponse(code = 429, message = "Limite de ingestão excedido", response = ApiError.class),
+            @ApiResponse(code = 500, message = "Erro na api", response = ApiError.class)
+    })
+    @PostMapping(value = "/logs/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, CBOR_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    private LogBatchResponseDTO saveAll(@RequestParam(value = "apiKey") UUID apiKey,
+                                        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                        @RequestBody List<LogRequestDTO> dtos) {
+        if (validIdempotencyKey(idempotencyKey, MAX_BATCH_IDEMPOTENCY_KEY_LENGTH) != null && dtos != null) {
+            for (int i = 0; i < dtos.size(); i++) {
+                LogRequestDTO dto = dtos.get(i);
+                if (dto != null && dto.getIdempotencyKey() == null) dto.setIdempotencyKey(idempotencyKey + ":" + i);
+            }
+        }
+        return mapper.mapBatch(logService.addAll(apiKey, dtos));
+    }
+
+    @ApiOperation(
+            value = "Cria logs a partir de um fluxo NDJSON",
+            notes = "Método utilizado para criar logs enviados como JSON delimitado por linha (application/x-ndjson). O corpo é lido de forma incremental e gravado em lotes."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Fluxo processado", response = LogIngestionSummaryResponseDTO.class),
+            @ApiResponse(code = 400, message = "Requisão mal formatada", response = ApiError.class),
+            @ApiResponse(code = 500, message = "Erro na api", response = ApiError.class)
+    })
+    @PostMapping(value = "/logs/stream", consumes = NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    private LogIngestionSummaryResponseDTO saveStream(@RequestParam(value = "apiKey") UUID apiKey,
+                                                      HttpServletRequest request) throws IOException {
+        return mapper.map(ndjsonIngester.ingest(apiKey, request.getInputStream()));
+    }
+
+    @ApiOperation(
+            value = "Cria um log a partir de uma mensagem GELF",
+            notes = "Método utilizado para receber mensagens GELF via HTTP, compatível com o input GELF HTTP do Graylog."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Mensagem aceita"),
+            @ApiResponse(code = 400, message = "Requisão mal formatada", response = ApiError.class),
+            @ApiResponse(code = 429, message = "Fila de ingestão cheia", response = ApiError.class),
+            @ApiResponse(code = 500, message = "Erro na api", response = ApiError.class)
+    })
+    @PostMapping(value = "/logs/gelf", consumes = MediaType.APPLICATION_JSON_VALUE)
+    private ResponseEntity<Void> saveGelf(@RequestParam(value = "apiKey") UUID apiKey,
+                                          @Valid @RequestBody GelfRequestDTO dto,
+                                          HttpServletRequest request) {
+        Log log = gelfMapper.map(dto, request.getRemoteAddr());
+        if (ingestionBuffer.isEnabled()) {
+            ingestionBuffer.offer(logService.prepare(apiKey, log));
+        } else {
+            logService.add(apiKey, log);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private static String validIdempotencyKey(String idempotencyKey, Integer maxLength) {
+        if (idempotencyKey != null && idempotencyKey.length() > maxLength) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " must have at most " + maxLength + " characters");
+        }
+        return idempotencyKey;
+    }
+
 }
@@ -0,0 +1,54 @@
+package br.com.codenation.logstackapi.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GelfRequestDTO {
+
+    @ApiModelProperty(value = "Versão do GELF", example = "1.1")
+    private String version;
+
+    @ApiModelProperty(value = "Host de origem", example = "web01.example.org", required = true)
+    @NotBlank
+    private String host;
+
+    @ApiModelProperty(value = "Mensagem curta", example = "Null pointer exception", required = true)
+    @NotBlank
+    @JsonProperty("short_message")
+    private String shortMessage;
+
+    @ApiModelProperty(value = "Mensagem completa", example = "java.lang.NullPointerException at ...")
+    @JsonProperty("full_message")
+    private String fullMessage;
+
+    @ApiModelProperty(value = "Timestamp em segundos desde a época", example = "1568608039.034")
+    private Double timestamp;
+
+    @ApiModelProperty(value = "Severidade syslog", example = "3")
+    private Integer level;
+
+    @ApiModelProperty(value = "Nome da aplicação", example = "logstack-api")
+    @JsonProperty("_app")
+    private String app;
+
+    @ApiModelProperty(value = "Ambiente da aplicação", example = "production")
+    @JsonProperty("_env")
+    private String env;
+
+    @ApiModelProperty(value = "Nome do container (driver GELF do Docker)", example = "logstack-api")
+    @JsonProperty("_container_name")
+    private String containerName;
+
+}
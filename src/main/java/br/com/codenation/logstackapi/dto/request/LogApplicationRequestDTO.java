@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 @Data
 @Builder
@@ -18,14 +19,17 @@ import javax.validation.constraints.NotNull;
 public class LogApplicationRequestDTO {
 
     @ApiModelProperty(value = "Nome da aplicação", position = 1, example = "logstack-api", required = true)
+    @Size(max = 255)
     @NotNull
     private String name;
 
     @ApiModelProperty(value = "Hostname da aplicação", position = 2, example = "logstack-api.herokuapp.com", required = true)
+    @Size(max = 255)
     @NotNull
     private String host;
 
     @ApiModelProperty(value = "Ip da aplicação", position = 3, example = "184.456.41.11", required = true)
+    @Size(max = 255)
     @NotNull
     private String ip;
 
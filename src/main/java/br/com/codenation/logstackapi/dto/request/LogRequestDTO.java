@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
@@ -22,7 +23,9 @@ public class LogRequestDTO {
     @NotNull
     private String title;
 
-    @ApiModelProperty(value = "Dados da aplicação")
+    @ApiModelProperty(value = "Dados da aplicação", required = true)
+    @Valid
+    @NotNull
     private LogApplicationRequestDTO application;
 
     @ApiModelProperty(value = "Nível do log", position = 4, example = "ERROR", allowableValues = "INFO, DEBUG, WARNING, ERROR, FATAL", required = true)
@@ -34,6 +37,11 @@ public class LogRequestDTO {
     private LocalDateTime timestamp;
 
     @ApiModelProperty(value = "Detalhe do erro", example = "Fatal error on line 45", required = true)
+    @Size(max = 5000)
     @NotNull
     private String content;
+
+    @ApiModelProperty(value = "Chave de idempotência, para que reenvios do mesmo log não gerem registros duplicados", example = "7f3c2a9e-0b1d-4c55-9a51-2f1e8d6b4c10")
+    @Size(max = 128)
+    private String idempotencyKey;
 }
@@ -20,4 +20,8 @@ public class CustomerResponseDTO {
 
     private LocalDateTime updatedDate;
 
+    private Double ingestRate;
+
+    private Integer ingestBurst;
+
 }
@@ -0,0 +1,28 @@
+package br.com.codenation.logstackapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@JsonPropertyOrder({"index", "accepted", "id", "errors"})
+public class LogBatchItemResponseDTO {
+
+    @ApiModelProperty(value = "Posição do log no lote", position = 1, example = "0")
+    private Integer index;
+
+    @ApiModelProperty(value = "Log aceito", position = 2)
+    private Boolean accepted;
+
+    @ApiModelProperty(value = "Identificador do log criado", position = 3, example = "cbd9881e-88e9-4973-bfc0-5b4fcde29574")
+    private UUID id;
+
+    @ApiModelProperty(value = "Erros de validação do log", position = 4, example = "[\"title: must not be null\"]")
+    private List<String> errors;
+
+}
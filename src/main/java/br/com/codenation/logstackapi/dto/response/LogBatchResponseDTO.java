@@ -0,0 +1,28 @@
+package br.com.codenation.logstackapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"accepted", "rejected", "items"})
+public class LogBatchResponseDTO {
+
+    @ApiModelProperty(value = "Quantidade de logs aceitos", position = 1, example = "98")
+    private Long accepted;
+
+    @ApiModelProperty(value = "Quantidade de logs rejeitados", position = 2, example = "2")
+    private Long rejected;
+
+    @ApiModelProperty(value = "Resultado de cada log do lote", position = 3)
+    private List<LogBatchItemResponseDTO> items;
+
+}
@@ -0,0 +1,24 @@
+package br.com.codenation.logstackapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@JsonPropertyOrder({"accepted", "rejected", "errors"})
+public class LogIngestionSummaryResponseDTO {
+
+    @ApiModelProperty(value = "Quantidade de linhas aceitas", position = 1, example = "99998")
+    private Long accepted;
+
+    @ApiModelProperty(value = "Quantidade de linhas rejeitadas", position = 2, example = "2")
+    private Long rejected;
+
+    @ApiModelProperty(value = "Erros das primeiras linhas rejeitadas", position = 3, example = "[\"line 42: level: must not be null\"]")
+    private List<String> errors;
+
+}
@@ -5,11 +5,12 @@ import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @NoArgsConstructor
-@JsonPropertyOrder({"id", "title", "application", "detail", "archived", "createdBy"})
+@JsonPropertyOrder({"id", "title", "application", "detail", "occurrences", "lastSeen", "archived", "createdBy"})
 public class LogResponseDTO {
 
     @ApiModelProperty(value = "Identificador do gatilho", position = 1, example = "cbd9881e-88e9-4973-bfc0-5b4fcde29574")
@@ -24,6 +25,12 @@ public class LogResponseDTO {
     @ApiModelProperty(value = "Dados da aplicação", position = 4)
     private LogDetailResponseDTO detail;
 
+    @ApiModelProperty(value = "Quantidade de ocorrências agrupadas neste log", position = 5, example = "1")
+    private Integer occurrences;
+
+    @ApiModelProperty(value = "Data e hora da última ocorrência", position = 5, example = "2019-09-16T19:14:06.738Z")
+    private LocalDateTime lastSeen;
+
     @ApiModelProperty(value = "Usuário criador", position = 6)
     private UserResponseDTO createdBy;
 
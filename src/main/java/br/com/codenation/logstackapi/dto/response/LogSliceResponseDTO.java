@@ -0,0 +1,23 @@
+package br.com.codenation.logstackapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"content", "next"})
+public class LogSliceResponseDTO {
+
+    @ApiModelProperty(value = "Logs da página", position = 1)
+    private List<LogResponseDTO> content;
+
+    @ApiModelProperty(value = "Cursor da próxima página, ausente na última página", position = 2, example = "MjAxOS0wOS0zMFQxMDo1NTozMnxmNGE1...")
+    private String next;
+
+}
@@ -1,5 +1,6 @@
 package br.com.codenation.logstackapi.exception;
 
+import br.com.codenation.logstackapi.model.entity.LogViolation;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -97,4 +98,12 @@ public class ApiError {
         constraintViolations.forEach(this::addValidationError);
     }
 
+    public void addValidationErrors(String object, List<LogViolation> violations) {
+        violations.forEach(violation -> this.addValidationError(
+                object,
+                violation.getField(),
+                violation.getRejectedValue(),
+                violation.getMessage()));
+    }
+
 }
@@ -1,5 +1,6 @@
 package br.com.codenation.logstackapi.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -22,9 +23,12 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.ConstraintViolationException;
+import java.util.zip.ZipException;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @ControllerAdvice
@@ -55,6 +59,34 @@ public class ControllerAdviceHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException ex) {
+
+        ApiError apiError = new ApiError(TOO_MANY_REQUESTS);
+        apiError.setMessage(ex.getMessage());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()));
+        return buildResponseEntity(apiError, headers);
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<Object> handlePayloadTooLarge(PayloadTooLargeException ex) {
+
+        ApiError apiError = new ApiError(PAYLOAD_TOO_LARGE);
+        apiError.setMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
+    @ExceptionHandler(ZipException.class)
+    public ResponseEntity<Object> handleZip(ZipException ex) {
+
+        ApiError apiError = new ApiError(BAD_REQUEST);
+        apiError.setMessage("Malformed compressed request body");
+        apiError.setDebugMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     protected ResponseEntity<Object> handleEntityNotFound(
             EntityNotFoundException ex) {
@@ -72,6 +104,19 @@ public class ControllerAdviceHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    @ExceptionHandler(InvalidLogException.class)
+    protected ResponseEntity<Object> handleInvalidLog(InvalidLogException ex) {
+        ApiError apiError = new ApiError(BAD_REQUEST);
+        apiError.setMessage("Validation error");
+        apiError.addValidationErrors("logRequestDTO", ex.getViolations());
+        return buildResponseEntity(apiError);
+    }
+
+    @ExceptionHandler(JsonProcessingException.class)
+    protected ResponseEntity<Object> handleJsonProcessing(JsonProcessingException ex) {
+        return buildResponseEntity(new ApiError(BAD_REQUEST, "Malformed JSON request", ex));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     protected ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex,
                                                                   WebRequest request) {
@@ -115,6 +160,12 @@ public class ControllerAdviceHandler extends ResponseEntityExceptionHandler {
     protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
         ServletWebRequest servletWebRequest = (ServletWebRequest) request;
         log.info("{} to {}", servletWebRequest.getHttpMethod(), servletWebRequest.getRequest().getServletPath());
+        if (ex.getCause() instanceof PayloadTooLargeException) {
+            return handlePayloadTooLarge((PayloadTooLargeException) ex.getCause());
+        }
+        if (ex.getCause() instanceof ZipException) {
+            return handleZip((ZipException) ex.getCause());
+        }
         String error = "Malformed JSON request";
         return buildResponseEntity(new ApiError(HttpStatus.BAD_REQUEST, error, ex));
     }
@@ -151,4 +202,8 @@ public class ControllerAdviceHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, apiError.getStatus());
     }
 
+    private ResponseEntity<Object> buildResponseEntity(ApiError apiError, HttpHeaders headers) {
+        return new ResponseEntity<>(apiError, headers, apiError.getStatus());
+    }
+
 }
@@ -0,0 +1,20 @@
+package br.com.codenation.logstackapi.exception;
+
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+
+import java.util.List;
+
+public class InvalidLogException extends RuntimeException {
+
+    private final List<LogViolation> violations;
+
+    public InvalidLogException(List<LogViolation> violations) {
+        super("Validation error");
+        this.violations = violations;
+    }
+
+    public List<LogViolation> getViolations() {
+        return violations;
+    }
+
+}
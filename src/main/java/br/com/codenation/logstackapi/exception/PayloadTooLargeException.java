@@ -0,0 +1,11 @@
+package br.com.codenation.logstackapi.exception;
+
+import java.io.IOException;
+
+public class PayloadTooLargeException extends IOException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.codenation.logstackapi.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    public Mono<ServerResponse> handle(Throwable ex) {
+        if (ex instanceof TooManyRequestsException) {
+            return handleTooManyRequests((TooManyRequestsException) ex);
+        }
+        if (ex instanceof InvalidLogException) {
+            ApiError apiError = new ApiError(BAD_REQUEST);
+            apiError.setMessage("Validation error");
+            apiError.addValidationErrors("logRequestDTO", ((InvalidLogException) ex).getViolations());
+            return buildResponse(apiError);
+        }
+        if (ex instanceof JsonProcessingException) {
+            return buildResponse(new ApiError(BAD_REQUEST, "Malformed JSON request", ex));
+        }
+        if (ex instanceof PayloadTooLargeException) {
+            return buildResponse(withMessage(new ApiError(PAYLOAD_TOO_LARGE), ex));
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return buildResponse(withMessage(new ApiError(BAD_REQUEST), ex));
+        }
+        if (ex instanceof ResourceNotFoundException) {
+            return buildResponse(withMessage(new ApiError(NOT_FOUND), ex));
+        }
+
+        log.error("Unexpected error in the reactive ingestion server", ex);
+        return buildResponse(new ApiError(INTERNAL_SERVER_ERROR, ex));
+    }
+
+    private Mono<ServerResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        ApiError apiError = withMessage(new ApiError(TOO_MANY_REQUESTS), ex);
+        return ServerResponse.status(apiError.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(apiError);
+    }
+
+    private ApiError withMessage(ApiError apiError, Throwable ex) {
+        apiError.setMessage(ex.getMessage());
+        return apiError;
+    }
+
+    private Mono<ServerResponse> buildResponse(ApiError apiError) {
+        return ServerResponse.status(apiError.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(apiError);
+    }
+
+}
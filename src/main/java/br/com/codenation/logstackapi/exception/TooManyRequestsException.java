@@ -0,0 +1,16 @@
+package br.com.codenation.logstackapi.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Long retryAfter;
+
+    public TooManyRequestsException(String message, Long retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Long getRetryAfter() {
+        return retryAfter;
+    }
+
+}
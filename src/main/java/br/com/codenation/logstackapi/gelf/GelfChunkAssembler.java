@@ -0,0 +1,98 @@
+package br.com.codenation.logstackapi.gelf;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GelfChunkAssembler {
+
+    private static final Integer MAX_CHUNKS = 128;
+
+    private final Integer maxPendingMessages;
+    private final Long timeoutNanos;
+    private final Counter expired;
+    private final Map<Long, PendingMessage> pending = new LinkedHashMap<>();
+
+    public GelfChunkAssembler(Integer maxPendingMessages, Long timeoutNanos, Counter expired) {
+        this.maxPendingMessages = maxPendingMessages;
+        this.timeoutNanos = timeoutNanos;
+        this.expired = expired;
+    }
+
+    public InputStream add(long messageId, int sequence, int count, byte[] chunk, long now) {
+        expire(now);
+
+        if (count < 1 || count > MAX_CHUNKS || sequence < 0 || sequence >= count) return null;
+
+        PendingMessage message = pending.get(messageId);
+        if (message == null) {
+            if (pending.size() >= maxPendingMessages) evictEldest();
+            message = new PendingMessage(count, now);
+            pending.put(messageId, message);
+        } else if (message.chunks.length != count) {
+            pending.remove(messageId);
+            return null;
+        }
+
+        if (message.chunks[sequence] == null) {
+            message.chunks[sequence] = chunk;
+            message.received++;
+        }
+
+        if (message.received < count) return null;
+
+        pending.remove(messageId);
+        return message.stream();
+    }
+
+    public Integer size() {
+        return pending.size();
+    }
+
+    private void expire(long now) {
+        Iterator<PendingMessage> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PendingMessage message = iterator.next();
+            if (now - message.firstSeen < timeoutNanos) return;
+            iterator.remove();
+            expired.increment();
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<PendingMessage> iterator = pending.values().iterator();
+        iterator.next();
+        iterator.remove();
+        expired.increment();
+    }
+
+    private static class PendingMessage {
+
+        private final byte[][] chunks;
+        private final long firstSeen;
+        private int received;
+
+        PendingMessage(int count, long firstSeen) {
+            this.chunks = new byte[count][];
+            this.firstSeen = firstSeen;
+        }
+
+        InputStream stream() {
+            List<InputStream> streams = new ArrayList<>(chunks.length);
+            for (byte[] chunk : chunks) {
+                streams.add(new ByteArrayInputStream(chunk));
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+
+    }
+
+}
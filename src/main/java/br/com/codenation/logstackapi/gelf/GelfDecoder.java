@@ -0,0 +1,45 @@
+package br.com.codenation.logstackapi.gelf;
+
+import br.com.codenation.logstackapi.dto.request.GelfRequestDTO;
+import br.com.codenation.logstackapi.ingestion.LimitedInputStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class GelfDecoder {
+
+    private final ObjectReader reader;
+    private final Long maxMessageBytes;
+
+    public GelfDecoder(ObjectMapper objectMapper, Long maxMessageBytes) {
+        this.reader = objectMapper.readerFor(GelfRequestDTO.class);
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    public GelfRequestDTO decode(InputStream payload) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(payload, 2);
+        int first = in.read();
+        int second = in.read();
+        if (second != -1) in.unread(second);
+        if (first != -1) in.unread(first);
+
+        InputStream decoded;
+        if (first == 0x1f && second == 0x8b) {
+            decoded = new GZIPInputStream(in);
+        } else if (first == 0x78 && ((first << 8) | second) % 31 == 0) {
+            decoded = new InflaterInputStream(in);
+        } else {
+            decoded = in;
+        }
+
+        try (InputStream limited = new LimitedInputStream(decoded, maxMessageBytes)) {
+            return reader.readValue(limited);
+        }
+    }
+
+}
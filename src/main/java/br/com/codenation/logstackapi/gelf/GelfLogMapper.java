@@ -0,0 +1,82 @@
+package br.com.codenation.logstackapi.gelf;
+
+import br.com.codenation.logstackapi.dto.request.GelfRequestDTO;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Component
+public class GelfLogMapper {
+
+    private static final Integer MAX_TITLE_LENGTH = 120;
+    private static final Integer MAX_CONTENT_LENGTH = 5000;
+    private static final Integer MAX_APPLICATION_LENGTH = 255;
+    private static final String DEFAULT_APP_NAME = "gelf";
+
+    private final LogEnvironment defaultEnvironment;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @Autowired
+    public GelfLogMapper(@Value("${app.gelf.environment:PRODUCTION}") LogEnvironment defaultEnvironment) {
+        this.defaultEnvironment = defaultEnvironment;
+    }
+
+    public Log map(GelfRequestDTO message, String sourceIp) {
+        LogApplication application = LogApplication.builder()
+                .name(truncate(appName(message), MAX_APPLICATION_LENGTH))
+                .host(truncate(message.getHost(), MAX_APPLICATION_LENGTH))
+                .ip(sourceIp)
+                .environment(environment(message.getEnv()))
+                .build();
+
+        String content = message.getFullMessage() == null ? message.getShortMessage() : message.getFullMessage();
+        LogDetail detail = LogDetail.builder()
+                .timestamp(timestamp(message.getTimestamp()))
+                .level(LogLevel.fromSyslogSeverity(message.getLevel()))
+                .content(truncate(content, MAX_CONTENT_LENGTH))
+                .build();
+
+        return Log.builder()
+                .title(truncate(message.getShortMessage(), MAX_TITLE_LENGTH))
+                .application(application)
+                .detail(detail)
+                .archived(false)
+                .checkAlert(false)
+                .build();
+    }
+
+    private String appName(GelfRequestDTO message) {
+        if (message.getApp() != null) return message.getApp();
+        if (message.getContainerName() != null) return message.getContainerName();
+        return DEFAULT_APP_NAME;
+    }
+
+    private LogEnvironment environment(String env) {
+        if (env == null) return defaultEnvironment;
+        String value = env.trim().toUpperCase();
+        if (value.startsWith("PROD")) return LogEnvironment.PRODUCTION;
+        if (value.startsWith("DEV")) return LogEnvironment.DEVELOPMENT;
+        if (value.startsWith("TEST") || value.startsWith("HML") || value.startsWith("STAG")) return LogEnvironment.TEST;
+        return defaultEnvironment;
+    }
+
+    private LocalDateTime timestamp(Double seconds) {
+        if (seconds == null) return LocalDateTime.now(zone);
+        long millis = Math.round(seconds * 1000);
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private String truncate(String value, Integer max) {
+        return value.length() > max ? value.substring(0, max) : value;
+    }
+
+}
@@ -0,0 +1,201 @@
+package br.com.codenation.logstackapi.gelf;
+
+import br.com.codenation.logstackapi.dto.request.GelfRequestDTO;
+import br.com.codenation.logstackapi.ingestion.LogBatchWriter;
+import br.com.codenation.logstackapi.service.LogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class GelfUdpServer {
+
+    private static final Integer MAX_DATAGRAM_BYTES = 65535;
+    private static final Integer CHUNK_HEADER_BYTES = 12;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final LogService logService;
+    private final GelfLogMapper mapper;
+    private final Validator validator;
+    private final GelfDecoder decoder;
+    private final GelfChunkAssembler assembler;
+    private final Boolean enabled;
+    private final String bindAddress;
+    private final Integer port;
+    private final UUID apiKey;
+    private final Integer batchSize;
+    private final Long flushIntervalMillis;
+
+    private final Counter received;
+    private final Counter malformed;
+    private final Counter dropped;
+
+    private DatagramChannel channel;
+    private Selector selector;
+    private LogBatchWriter writer;
+    private Thread receiverThread;
+    private volatile Boolean running = false;
+
+    @Autowired
+    public GelfUdpServer(LogService logService,
+                         GelfLogMapper mapper,
+                         Validator validator,
+                         ObjectMapper objectMapper,
+                         MeterRegistry registry,
+                         @Value("${app.gelf.udp.enabled:false}") Boolean enabled,
+                         @Value("${app.gelf.udp.bind-address:0.0.0.0}") String bindAddress,
+                         @Value("${app.gelf.udp.port:12201}") Integer port,
+                         @Value("${app.gelf.udp.api-key:}") String apiKey,
+                         @Value("${app.gelf.udp.batch-size:500}") Integer batchSize,
+                         @Value("${app.gelf.udp.flush-interval-ms:200}") Long flushIntervalMillis,
+                         @Value("${app.gelf.udp.max-pending-messages:1000}") Integer maxPendingMessages,
+                         @Value("${app.gelf.udp.chunk-timeout-ms:5000}") Long chunkTimeoutMillis,
+                         @Value("${app.gelf.max-message-bytes:8388608}") Long maxMessageBytes) {
+        this.logService = logService;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.decoder = new GelfDecoder(objectMapper, maxMessageBytes);
+        this.enabled = enabled;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.apiKey = apiKey == null || apiKey.trim().isEmpty() ? null : UUID.fromString(apiKey.trim());
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        this.received = Counter.builder("logstack.gelf.received")
+                .description("GELF messages received over UDP")
+                .register(registry);
+        this.malformed = Counter.builder("logstack.gelf.malformed")
+                .description("GELF datagrams that could not be decoded")
+                .register(registry);
+        this.dropped = Counter.builder("logstack.gelf.dropped")
+                .description("GELF messages dropped because the writer could not keep up or the database rejected them")
+                .register(registry);
+        this.assembler = new GelfChunkAssembler(maxPendingMessages,
+                TimeUnit.MILLISECONDS.toNanos(chunkTimeoutMillis),
+                Counter.builder("logstack.gelf.chunks.expired")
+                        .description("Chunked GELF messages discarded before all chunks arrived")
+                        .register(registry));
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+        if (apiKey == null) {
+            log.warn("GELF UDP listener enabled without app.gelf.udp.api-key, not starting");
+            return;
+        }
+
+        selector = Selector.open();
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(bindAddress, port));
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ);
+        writer = new LogBatchWriter(logService, "gelf-writer", batchSize, dropped);
+
+        running = true;
+        receiverThread = new Thread(this::receive, "gelf-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        log.info("GELF UDP listener bound to {}", channel.getLocalAddress());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (selector == null) return;
+
+        running = false;
+        selector.wakeup();
+        receiverThread.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        channel.close();
+        selector.close();
+        writer.stop();
+    }
+
+    public Integer getPort() throws IOException {
+        return channel == null ? null : ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES);
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+
+        while (running) {
+            try {
+                selector.select(flushIntervalMillis);
+                selector.selectedKeys().clear();
+
+                SocketAddress source;
+                while ((source = nextDatagram(buffer)) != null) {
+                    handle(buffer, source);
+                }
+            } catch (IOException e) {
+                log.error("GELF UDP listener failed", e);
+            }
+
+            if (System.currentTimeMillis() >= nextFlush) {
+                writer.flush();
+                nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+            }
+        }
+    }
+
+    private SocketAddress nextDatagram(ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        SocketAddress source = channel.receive(buffer);
+        buffer.flip();
+        return source;
+    }
+
+    private void handle(ByteBuffer buffer, SocketAddress source) {
+        byte[] data = buffer.array();
+        int length = buffer.limit();
+
+        InputStream payload;
+        if (length >= CHUNK_HEADER_BYTES && data[0] == 0x1e && data[1] == 0x0f) {
+            long messageId = buffer.getLong(2);
+            int sequence = data[10] & 0xff;
+            int count = data[11] & 0xff;
+            byte[] chunk = Arrays.copyOfRange(data, CHUNK_HEADER_BYTES, length);
+            payload = assembler.add(messageId, sequence, count, chunk, System.nanoTime());
+            if (payload == null) return;
+        } else {
+            payload = new ByteArrayInputStream(data, 0, length);
+        }
+
+        try {
+            GelfRequestDTO message = decoder.decode(payload);
+            if (!validator.validate(message).isEmpty()) {
+                malformed.increment();
+                return;
+            }
+            String ip = ((InetSocketAddress) source).getAddress().getHostAddress();
+            writer.add(apiKey, mapper.map(message, ip));
+            received.increment();
+        } catch (IOException | RuntimeException e) {
+            malformed.increment();
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CustomerTagLimit implements MeterFilter {
+
+    public static final String CUSTOMER_TAG = "customer";
+    public static final String OTHER_CUSTOMERS = "other";
+
+    private static final String METER_PREFIX = "logstack.";
+
+    private final Integer maxCustomers;
+    private final Set<String> customers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public CustomerTagLimit(@Value("${app.metrics.max-customer-tags:100}") Integer maxCustomers) {
+        this.maxCustomers = maxCustomers;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        String customer = id.getTag(CUSTOMER_TAG);
+        if (customer == null || !id.getName().startsWith(METER_PREFIX) || admit(customer)) return id;
+        return id.withTag(Tag.of(CUSTOMER_TAG, OTHER_CUSTOMERS));
+    }
+
+    private boolean admit(String customer) {
+        if (customers.contains(customer)) return true;
+        synchronized (customers) {
+            if (customers.size() >= maxCustomers) return false;
+            customers.add(customer);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class IdempotentBatch {
+
+    private final List<Log> targets;
+    private final List<Log> fresh = new ArrayList<>();
+    private final Map<Log, LogKey> replays = new IdentityHashMap<>();
+
+    IdempotentBatch(Integer size) {
+        this.targets = new ArrayList<>(size);
+    }
+
+    void fresh(Log log) {
+        fresh.add(log);
+        targets.add(log);
+    }
+
+    void replay(Log log, LogKey existing) {
+        replays.put(log, existing);
+        targets.add(log);
+    }
+
+    void repeat(Log first) {
+        targets.add(first);
+    }
+
+    public List<Log> getFresh() {
+        return fresh;
+    }
+
+    public List<LogKey> getExistingKeys() {
+        return new ArrayList<>(replays.values());
+    }
+
+    public Boolean isReplay() {
+        return targets.size() > fresh.size();
+    }
+
+    public List<Log> resolve(List<Log> saved, Map<UUID, Log> existing) {
+        if (!isReplay()) return saved;
+
+        Map<Log, Log> stored = new IdentityHashMap<>();
+        for (int i = 0; i < fresh.size(); i++) {
+            stored.put(fresh.get(i), saved.get(i));
+        }
+        return targets.stream()
+                .map(target -> replays.containsKey(target)
+                        ? existing.getOrDefault(replays.get(target).getId(), target)
+                        : stored.getOrDefault(target, target))
+                .collect(Collectors.toList());
+    }
+
+}
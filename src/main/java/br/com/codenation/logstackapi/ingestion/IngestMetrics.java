@@ -0,0 +1,80 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class IngestMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Long MAX_EXPECTED_BYTES = 8388608L;
+
+    private final MeterRegistry registry;
+    private final Map<IngestStage, Timer> stages = new EnumMap<>(IngestStage.class);
+    private final DistributionSummary received;
+
+    @Autowired
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (IngestStage stage : IngestStage.values()) {
+            stages.put(stage, Timer.builder("logstack.ingest.stage")
+                    .description("Time spent in each log ingestion stage")
+                    .tag("stage", stage.name().toLowerCase())
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.received = DistributionSummary.builder("logstack.ingest.bytes")
+                .description("Size of each received log payload")
+                .baseUnit("bytes")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, IngestStage stage) {
+        sample.stop(stages.get(stage));
+    }
+
+    public <T> T record(IngestStage stage, Supplier<T> work) {
+        return stages.get(stage).record(work);
+    }
+
+    public void received(long bytes) {
+        if (bytes >= 0) received.record(bytes);
+    }
+
+    public void ingested(List<Log> logs) {
+        logs.stream()
+                .collect(Collectors.groupingBy(log -> Arrays.asList(
+                        String.valueOf(log.getCustomer().getId()),
+                        String.valueOf(log.getDetail().getLevel()),
+                        String.valueOf(log.getApplication().getEnvironment())), Collectors.counting()))
+                .forEach((tags, count) -> Counter.builder("logstack.ingest.logs")
+                        .description("Logs ingested by customer, level and environment")
+                        .tag(CustomerTagLimit.CUSTOMER_TAG, tags.get(0))
+                        .tag("level", tags.get(1))
+                        .tag("environment", tags.get(2))
+                        .register(registry)
+                        .increment(count));
+    }
+
+}
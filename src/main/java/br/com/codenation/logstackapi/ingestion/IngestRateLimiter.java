@@ -0,0 +1,92 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class IngestRateLimiter {
+
+    private final MeterRegistry registry;
+    private final Boolean enabled;
+    private final Double defaultRate;
+    private final Integer defaultBurst;
+    private final Cache<UUID, TokenBucket> buckets;
+
+    @Autowired
+    public IngestRateLimiter(MeterRegistry registry,
+                             @Value("${app.ingestion.rate-limit.enabled:true}") Boolean enabled,
+                             @Value("${app.ingestion.rate-limit.default-rate:1000}") Double defaultRate,
+                             @Value("${app.ingestion.rate-limit.default-burst:2000}") Integer defaultBurst,
+                             @Value("${app.ingestion.rate-limit.max-keys:100000}") Long maxKeys,
+                             @Value("${app.ingestion.rate-limit.idle-seconds:600}") Long idleSeconds) {
+        if (defaultRate <= 0 || defaultBurst <= 0) {
+            throw new IllegalArgumentException("Ingestion rate limit default rate and burst must be positive");
+        }
+        this.registry = registry;
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.defaultBurst = defaultBurst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, buckets, "logstack.ingest.rate-limit.buckets");
+    }
+
+    public void acquire(Customer customer, Integer permits) {
+        long waitNanos = tryAcquire(customer, permits);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1L, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+            throw new TooManyRequestsException("Ingestion rate limit exceeded", retryAfter);
+        }
+    }
+
+    public long tryAcquire(Customer customer, Integer permits) {
+        if (!enabled) return 0L;
+
+        TokenBucket bucket = bucket(customer);
+        if (permits > bucket.getBurst()) {
+            throw new IllegalArgumentException("Request exceeds the ingestion burst limit of " + bucket.getBurst() + " logs");
+        }
+
+        long waitNanos = bucket.tryAcquire(permits, System.nanoTime());
+        if (waitNanos > 0) {
+            rejected(customer).increment(permits);
+        }
+        return waitNanos;
+    }
+
+    private TokenBucket bucket(Customer customer) {
+        Double rate = customer.getIngestRate() == null ? defaultRate : customer.getIngestRate();
+        Integer burst = customer.getIngestBurst() == null ? defaultBurst : customer.getIngestBurst();
+
+        TokenBucket bucket = buckets.get(customer.getId(), key -> new TokenBucket(rate, burst, System.nanoTime()));
+        if (!bucket.hasLimits(rate, burst)) {
+            bucket = new TokenBucket(rate, burst, System.nanoTime());
+            buckets.put(customer.getId(), bucket);
+        }
+        return bucket;
+    }
+
+    private Counter rejected(Customer customer) {
+        return Counter.builder("logstack.ingest.rate-limit.rejected")
+                .description("Logs rejected by the per-customer ingestion rate limit")
+                .tag("customer", String.valueOf(customer.getId()))
+                .register(registry);
+    }
+
+}
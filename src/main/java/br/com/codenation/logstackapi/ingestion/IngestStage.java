@@ -0,0 +1,7 @@
+package br.com.codenation.logstackapi.ingestion;
+
+public enum IngestStage {
+
+    DECODE, VALIDATE, CUSTOMER, MAP, PERSIST
+
+}
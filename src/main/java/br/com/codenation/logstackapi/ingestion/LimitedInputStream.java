@@ -0,0 +1,52 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.exception.PayloadTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class LimitedInputStream extends FilterInputStream {
+
+    private final Long limit;
+    private long count;
+
+    public LimitedInputStream(InputStream in, Long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) count(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) count(read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long read) throws PayloadTooLargeException {
+        count += read;
+        if (count > limit) {
+            throw new PayloadTooLargeException("Decompressed request body exceeds " + limit + " bytes");
+        }
+    }
+
+}
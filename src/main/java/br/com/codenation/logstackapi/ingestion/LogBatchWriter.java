@@ -0,0 +1,101 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class LogBatchWriter {
+
+    private static final Integer QUEUE_BATCHES = 64;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final LogService logService;
+    private final Integer batchSize;
+    private final Counter dropped;
+    private final ThreadPoolExecutor writer;
+    private final Map<UUID, List<Log>> pending = new HashMap<>();
+
+    public LogBatchWriter(LogService logService, String name, Integer batchSize, Counter dropped) {
+        this.logService = logService;
+        this.batchSize = batchSize;
+        this.dropped = dropped;
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_BATCHES),
+                r -> {
+                    Thread thread = new Thread(r, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void add(UUID apiKey, Log log) {
+        List<Log> batch = pending.computeIfAbsent(apiKey, key -> new ArrayList<>(batchSize));
+        batch.add(log);
+        if (batch.size() >= batchSize) flush(apiKey);
+    }
+
+    public void flush() {
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
+
+    public void stop() throws InterruptedException {
+        flush();
+        writer.shutdown();
+        writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void flush(UUID apiKey) {
+        List<Log> batch = pending.remove(apiKey);
+        if (batch == null || batch.isEmpty()) return;
+        try {
+            writer.execute(() -> write(apiKey, batch));
+        } catch (RejectedExecutionException e) {
+            dropped.increment(batch.size());
+        }
+    }
+
+    private void write(UUID apiKey, List<Log> batch) {
+        try {
+            Customer customer = logService.admit(apiKey, batch.size());
+            batch.forEach(entry -> entry.setCustomer(customer));
+            save(batch);
+        } catch (TooManyRequestsException e) {
+            log.debug("Discarding {} received logs over the ingestion rate limit", batch.size());
+        } catch (RuntimeException e) {
+            dropped.increment(batch.size());
+            log.error("Could not write {} received logs", batch.size(), e);
+        }
+    }
+
+    private void save(List<Log> batch) {
+        try {
+            logService.saveAll(batch);
+        } catch (DataIntegrityViolationException e) {
+            batch.forEach(entry -> entry.setId(null));
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.warn("Skipping received log rejected by the database", e);
+                return;
+            }
+            Integer half = batch.size() / 2;
+            save(batch.subList(0, half));
+            save(batch.subList(half, batch.size()));
+        }
+    }
+
+}
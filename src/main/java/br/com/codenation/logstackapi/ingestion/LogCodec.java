@@ -0,0 +1,328 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class LogCodec {
+
+    private static final Integer TITLE_MIN_LENGTH = 2;
+    private static final Integer TITLE_MAX_LENGTH = 120;
+    private static final Integer IDEMPOTENCY_KEY_MAX_LENGTH = 128;
+    private static final Integer CONTENT_MAX_LENGTH = 5000;
+    private static final Integer APPLICATION_MAX_LENGTH = 255;
+    private static final String NOT_NULL = "must not be null";
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final LogEnvironment[] ENVIRONMENTS = LogEnvironment.values();
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final JsonFactory cborFactory = new CBORFactory();
+    private final IngestMetrics metrics;
+
+    public LogCodec(IngestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Log decode(InputStream body, Boolean cbor, List<LogViolation> violations) throws IOException {
+        try (JsonParser parser = (cbor ? cborFactory : jsonFactory).createParser(body)) {
+            Log log = decode(parser, violations);
+            metrics.received(parser.getCurrentLocation().getByteOffset());
+            return log;
+        }
+    }
+
+    public Log decode(byte[] json, Integer offset, Integer length, List<LogViolation> violations) throws IOException {
+        metrics.received(length);
+        return replay(json, offset, length, violations);
+    }
+
+    public Log replay(byte[] json, Integer offset, Integer length, List<LogViolation> violations) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json, offset, length)) {
+            return decode(parser, violations);
+        }
+    }
+
+    public Log decode(JsonParser parser, List<LogViolation> violations) throws IOException {
+        Timer.Sample decoding = metrics.start();
+        Log log = read(parser);
+        metrics.stop(decoding, IngestStage.DECODE);
+
+        Timer.Sample validating = metrics.start();
+        validate(log, violations);
+        metrics.stop(validating, IngestStage.VALIDATE);
+        return log;
+    }
+
+    private static Log read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a log object");
+        }
+
+        Log log = new Log();
+        LogDetail detail = new LogDetail();
+        log.setDetail(detail);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "title":
+                    log.setTitle(text(parser));
+                    break;
+                case "application":
+                    log.setApplication(application(parser));
+                    break;
+                case "level":
+                    detail.setLevel(constant(parser, LEVELS));
+                    break;
+                case "timestamp":
+                    detail.setTimestamp(timestamp(parser));
+                    break;
+                case "content":
+                    detail.setContent(text(parser));
+                    break;
+                case "idempotencyKey":
+                    log.setIdempotencyKey(text(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return log;
+    }
+
+    public byte[] encode(Log log) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            LogApplication application = log.getApplication();
+            LogDetail detail = log.getDetail();
+            generator.writeStartObject();
+            generator.writeStringField("title", log.getTitle());
+            generator.writeObjectFieldStart("application");
+            generator.writeStringField("name", application.getName());
+            generator.writeStringField("host", application.getHost());
+            generator.writeStringField("ip", application.getIp());
+            generator.writeStringField("environment", application.getEnvironment().name());
+            generator.writeEndObject();
+            generator.writeStringField("level", detail.getLevel().name());
+            generator.writeStringField("timestamp", detail.getTimestamp().toString());
+            generator.writeStringField("content", detail.getContent());
+            if (log.getIdempotencyKey() != null) generator.writeStringField("idempotencyKey", log.getIdempotencyKey());
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static LogApplication application(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return null;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an application object");
+        }
+
+        LogApplication application = new LogApplication();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name":
+                    application.setName(text(parser));
+                    break;
+                case "host":
+                    application.setHost(text(parser));
+                    break;
+                case "ip":
+                    application.setIp(text(parser));
+                    break;
+                case "environment":
+                    application.setEnvironment(constant(parser, ENVIRONMENTS));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return application;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (!token.isScalarValue()) throw new JsonParseException(parser, "Expected a text value");
+        return parser.getText();
+    }
+
+    private static <E extends Enum<E>> E constant(JsonParser parser, E[] values) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            int ordinal = parser.getIntValue();
+            if (ordinal >= 0 && ordinal < values.length) return values[ordinal];
+        } else if (token == JsonToken.VALUE_STRING) {
+            char[] text = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = parser.getTextLength();
+            for (E value : values) {
+                if (matches(value.name(), text, offset, length)) return value;
+            }
+        }
+        throw new JsonParseException(parser, "Unknown value " + parser.getText());
+    }
+
+    private static boolean matches(String name, char[] text, int offset, int length) {
+        if (name.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != text[offset + i]) return false;
+        }
+        return true;
+    }
+
+    private static LocalDateTime timestamp(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        try {
+            if (token == JsonToken.START_ARRAY) return timestampArray(parser);
+            if (token != JsonToken.VALUE_STRING) throw new JsonParseException(parser, "Expected a timestamp");
+
+            LocalDateTime timestamp = parseTimestamp(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (timestamp != null) return timestamp;
+
+            String text = parser.getText().trim();
+            if (text.endsWith("Z")) return LocalDateTime.ofInstant(Instant.parse(text), ZoneOffset.UTC);
+            return LocalDateTime.parse(text);
+        } catch (DateTimeException e) {
+            throw new JsonParseException(parser, "Invalid timestamp " + parser.getText(), e);
+        }
+    }
+
+    private static LocalDateTime timestampArray(JsonParser parser) throws IOException {
+        int[] parts = new int[7];
+        int count = 0;
+        while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+            if (count == parts.length) throw new JsonParseException(parser, "Too many timestamp fields");
+            parts[count++] = parser.getIntValue();
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY || count < 5) {
+            throw new JsonParseException(parser, "Expected [year, month, day, hour, minute, second, nanosecond]");
+        }
+        return LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5], parts[6]);
+    }
+
+    static LocalDateTime parseTimestamp(char[] text, int offset, int length) {
+        if (length < 16 || text[offset + 4] != '-' || text[offset + 7] != '-'
+                || text[offset + 10] != 'T' || text[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        if ((year | month | day | hour | minute) < 0) return null;
+
+        int position = 16;
+        int second = 0;
+        int nano = 0;
+        if (position < length && text[offset + position] == ':') {
+            if (position + 3 > length) return null;
+            second = digits(text, offset + position + 1, 2);
+            if (second < 0) return null;
+            position += 3;
+            if (position < length && text[offset + position] == '.') {
+                int start = ++position;
+                while (position < length && position - start < 9 && isDigit(text[offset + position])) {
+                    nano = nano * 10 + (text[offset + position] - '0');
+                    position++;
+                }
+                if (position == start) return null;
+                for (int i = position - start; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if (position < length && text[offset + position] == 'Z') position++;
+        if (position != length) return null;
+
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            char c = text[offset + i];
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    public List<LogViolation> validate(Log log) {
+        List<LogViolation> violations = new ArrayList<>();
+        validate(log, violations);
+        return violations;
+    }
+
+    private static void validate(Log log, List<LogViolation> violations) {
+        LogApplication application = log.getApplication();
+        LogDetail detail = log.getDetail();
+
+        if (application == null) {
+            violations.add(new LogViolation("application", null, NOT_NULL));
+        } else {
+            if (application.getEnvironment() == null) violations.add(new LogViolation("application.environment", null, NOT_NULL));
+            required(violations, "application.host", application.getHost(), APPLICATION_MAX_LENGTH);
+            required(violations, "application.ip", application.getIp(), APPLICATION_MAX_LENGTH);
+            required(violations, "application.name", application.getName(), APPLICATION_MAX_LENGTH);
+        }
+        required(violations, "content", detail.getContent(), CONTENT_MAX_LENGTH);
+        String idempotencyKey = log.getIdempotencyKey();
+        if (idempotencyKey != null && idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+            violations.add(new LogViolation("idempotencyKey", idempotencyKey, size(0, IDEMPOTENCY_KEY_MAX_LENGTH)));
+        }
+        if (detail.getLevel() == null) violations.add(new LogViolation("level", null, NOT_NULL));
+        if (detail.getTimestamp() == null) violations.add(new LogViolation("timestamp", null, NOT_NULL));
+        String title = log.getTitle();
+        if (title == null) {
+            violations.add(new LogViolation("title", null, NOT_NULL));
+        } else if (title.length() < TITLE_MIN_LENGTH || title.length() > TITLE_MAX_LENGTH) {
+            violations.add(new LogViolation("title", title, size(TITLE_MIN_LENGTH, TITLE_MAX_LENGTH)));
+        }
+    }
+
+    private static void required(List<LogViolation> violations, String field, String value, Integer maxLength) {
+        if (value == null) {
+            violations.add(new LogViolation(field, null, NOT_NULL));
+        } else if (value.length() > maxLength) {
+            violations.add(new LogViolation(field, value, size(0, maxLength)));
+        }
+    }
+
+    private static String size(Integer min, Integer max) {
+        return "size must be between " + min + " and " + max;
+    }
+
+}
@@ -0,0 +1,76 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class LogCollapse {
+
+    private final List<Log> targets;
+    private final List<Log> inserts = new ArrayList<>();
+    private final List<Log> collapsed = new ArrayList<>();
+    private final Map<Log, LogKey> repeats = new IdentityHashMap<>();
+
+    LogCollapse(Integer size) {
+        this.targets = new ArrayList<>(size);
+    }
+
+    void insert(Log log) {
+        inserts.add(log);
+        targets.add(log);
+    }
+
+    void merge(Log representative, Log duplicate) {
+        representative.setOccurrences(representative.getOccurrences() + 1);
+        if (duplicate.getLastSeen().isAfter(representative.getLastSeen())) {
+            representative.setLastSeen(duplicate.getLastSeen());
+        }
+        collapsed.add(duplicate);
+        targets.add(representative);
+    }
+
+    void repeat(Log log, LogKey existing) {
+        repeats.put(log, existing);
+        collapsed.add(log);
+        targets.add(log);
+    }
+
+    public List<Log> getInserts() {
+        return inserts;
+    }
+
+    public List<Log> getRepeats() {
+        return new ArrayList<>(repeats.keySet());
+    }
+
+    public LogKey getExisting(Log repeat) {
+        return repeats.get(repeat);
+    }
+
+    public List<LogKey> getExistingKeys() {
+        return new ArrayList<>(repeats.values());
+    }
+
+    public void reinsert(Log repeat) {
+        repeats.remove(repeat);
+        collapsed.removeIf(log -> log == repeat);
+        inserts.add(repeat);
+    }
+
+    public List<Log> getCollapsed() {
+        return collapsed;
+    }
+
+    public List<Log> resolve(Map<UUID, Log> existing) {
+        return targets.stream()
+                .map(target -> repeats.containsKey(target) ? existing.getOrDefault(repeats.get(target).getId(), target) : target)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,68 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+public class LogContentCompressor {
+
+    private final Boolean enabled;
+    private final Integer minBytes;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    @Autowired
+    public LogContentCompressor(MeterRegistry registry,
+                                @Value("${app.log.content-compression.enabled:false}") Boolean enabled,
+                                @Value("${app.log.content-compression.min-bytes:256}") Integer minBytes) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.rawBytes = Counter.builder("logstack.log.content.bytes")
+                .description("Log content bytes received")
+                .tag("form", "raw")
+                .baseUnit("bytes")
+                .register(registry);
+        this.storedBytes = Counter.builder("logstack.log.content.bytes")
+                .description("Log content bytes written, including the search index of compressed rows")
+                .tag("form", "stored")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public void compress(List<Log> logs) {
+        if (enabled) logs.forEach(this::compress);
+    }
+
+    public void compress(Log log) {
+        if (!enabled) return;
+
+        LogDetail detail = log.getDetail();
+        if (detail == null || detail.getContentCompressed() != null || detail.getContent() == null) return;
+
+        String content = detail.getContent();
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        rawBytes.increment(raw.length);
+
+        if (raw.length >= minBytes) {
+            byte[] compressed = LogContentCodec.compress(content);
+            String search = LogContentCodec.index(content);
+            long stored = compressed.length + search.length();
+            if (stored < raw.length) {
+                detail.compressContent(compressed, search);
+                storedBytes.increment(stored);
+                return;
+            }
+        }
+        storedBytes.increment(raw.length);
+    }
+
+}
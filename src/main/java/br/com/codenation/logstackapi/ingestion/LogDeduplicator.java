@@ -0,0 +1,126 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class LogDeduplicator {
+
+    private static final Integer FIXED_ROW_BYTES = 128;
+
+    private final Boolean enabled;
+    private final Cache<Fingerprint, LogKey> recent;
+    private final Map<LogLevel, Counter> collapsed = new EnumMap<>(LogLevel.class);
+    private final Counter bytesSaved;
+
+    @Autowired
+    public LogDeduplicator(MeterRegistry registry,
+                           @Value("${app.ingestion.dedup.enabled:false}") Boolean enabled,
+                           @Value("${app.ingestion.dedup.window-seconds:60}") Long windowSeconds,
+                           @Value("${app.ingestion.dedup.max-fingerprints:100000}") Long maxFingerprints) {
+        this.enabled = enabled;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxFingerprints)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .recordStats()
+                .build();
+        this.bytesSaved = Counter.builder("logstack.ingest.dedup.bytes.saved")
+                .description("Estimated row bytes not written because duplicate logs were collapsed")
+                .baseUnit("bytes")
+                .register(registry);
+
+        for (LogLevel level : LogLevel.values()) {
+            collapsed.put(level, Counter.builder("logstack.ingest.dedup.collapsed")
+                    .description("Duplicate logs folded into an existing row instead of a new row and alert evaluation")
+                    .tag("level", level.name())
+                    .register(registry));
+        }
+        CaffeineCacheMetrics.monitor(registry, recent, "logstack.ingest.dedup.fingerprints");
+    }
+
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    public LogCollapse collapse(List<Log> logs) {
+        LogCollapse collapse = new LogCollapse(logs.size());
+        Map<Fingerprint, Log> batch = new HashMap<>();
+
+        for (Log log : logs) {
+            log.setOccurrences(1);
+            log.setLastSeen(log.getDetail().getTimestamp());
+            if (log.getCustomer() == null) {
+                collapse.insert(log);
+                continue;
+            }
+
+            Fingerprint fingerprint = new Fingerprint(log.getCustomer().getId(), LogFingerprint.of(log));
+            Log representative = batch.get(fingerprint);
+            if (representative != null) {
+                collapse.merge(representative, log);
+                continue;
+            }
+
+            LogKey existing = recent.getIfPresent(fingerprint);
+            if (existing != null) {
+                collapse.repeat(log, existing);
+            } else {
+                collapse.insert(log);
+            }
+            batch.put(fingerprint, log);
+        }
+        return collapse;
+    }
+
+    public void complete(LogCollapse collapse) {
+        collapse.getInserts().stream()
+                .filter(log -> log.getCustomer() != null)
+                .forEach(log -> recent.put(new Fingerprint(log.getCustomer().getId(), LogFingerprint.of(log)), LogKey.of(log)));
+
+        collapse.getCollapsed().forEach(log -> {
+            collapsed.get(log.getDetail().getLevel()).increment();
+            bytesSaved.increment(estimateBytes(log));
+        });
+    }
+
+    private static long estimateBytes(Log log) {
+        return FIXED_ROW_BYTES
+                + length(log.getTitle())
+                + length(log.getDetail().getContent())
+                + length(log.getApplication().getName())
+                + length(log.getApplication().getHost())
+                + length(log.getApplication().getIp());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Fingerprint {
+
+        private final UUID customerId;
+        private final long hash;
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+
+public final class LogFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final char SEPARATOR = '\u0000';
+
+    private LogFingerprint() {
+    }
+
+    public static long of(Log log) {
+        LogApplication application = log.getApplication();
+        LogDetail detail = log.getDetail();
+
+        long hash = OFFSET_BASIS;
+        hash = field(hash, log.getTitle());
+        hash = field(hash, application.getName());
+        hash = field(hash, application.getHost());
+        hash = field(hash, application.getIp());
+        hash = field(hash, application.getEnvironment() == null ? null : application.getEnvironment().name());
+        hash = field(hash, detail.getLevel() == null ? null : detail.getLevel().name());
+        hash = field(hash, detail.getContent());
+        return hash;
+    }
+
+    private static long field(long hash, String value) {
+        if (value != null) {
+            boolean pendingSpace = false;
+            boolean started = false;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = started;
+                    continue;
+                }
+                if (pendingSpace) {
+                    hash = mix(hash, ' ');
+                    pendingSpace = false;
+                }
+                hash = mix(hash, Character.toLowerCase(c));
+                started = true;
+            }
+        }
+        return mix(hash, SEPARATOR);
+    }
+
+    private static long mix(long hash, char c) {
+        hash = (hash ^ (c & 0xff)) * PRIME;
+        return (hash ^ (c >>> 8)) * PRIME;
+    }
+
+}
@@ -0,0 +1,102 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class LogIdempotencyIndex {
+
+    private final Cache<Key, LogKey> keys;
+    private final Counter replayed;
+
+    @Autowired
+    public LogIdempotencyIndex(MeterRegistry registry,
+                               @Value("${app.ingestion.idempotency.ttl-seconds:86400}") Long ttlSeconds,
+                               @Value("${app.ingestion.idempotency.max-keys:100000}") Long maxKeys) {
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.replayed = Counter.builder("logstack.ingest.idempotency.replayed")
+                .description("Logs answered with a previously stored log because their idempotency key was already used")
+                .register(registry);
+
+        CaffeineCacheMetrics.monitor(registry, keys, "logstack.ingest.idempotency.keys");
+    }
+
+    public IdempotentBatch claim(List<Log> logs) {
+        IdempotentBatch batch = new IdempotentBatch(logs.size());
+        Map<Key, Log> claimed = new HashMap<>();
+
+        for (Log log : logs) {
+            Key key = key(log);
+            if (key == null) {
+                batch.fresh(log);
+                continue;
+            }
+
+            Log first = claimed.putIfAbsent(key, log);
+            if (first != null) {
+                batch.repeat(first);
+                replayed.increment();
+                continue;
+            }
+
+            LogKey existing = keys.getIfPresent(key);
+            if (existing != null) {
+                batch.replay(log, existing);
+                replayed.increment();
+            } else {
+                batch.fresh(log);
+            }
+        }
+        return batch;
+    }
+
+    public void complete(List<Log> saved) {
+        for (Log log : saved) {
+            Key key = key(log);
+            if (key != null && log.getId() != null) keys.put(key, LogKey.of(log));
+        }
+    }
+
+    public void recovered(Integer count) {
+        replayed.increment(count);
+    }
+
+    public void invalidateAll() {
+        keys.invalidateAll();
+    }
+
+    private static Key key(Log log) {
+        if (log.getIdempotencyKey() == null || log.getCustomer() == null) return null;
+        return new Key(log.getCustomer().getId(), log.getIdempotencyKey());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+
+        private final UUID customerId;
+        private final String idempotencyKey;
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class LogIngestionBuffer {
+
+    private static final Long RETRY_AFTER_SECONDS = 1L;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final LogService logService;
+    private final Boolean enabled;
+    private final Integer writers;
+    private final Integer flushSize;
+    private final Long flushIntervalNanos;
+    private final QueueFullPolicy fullPolicy;
+    private final Long blockTimeoutMillis;
+    private final BlockingQueue<Log> queue;
+
+    private final DistributionSummary flushSizeSummary;
+    private final Timer flushLatency;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private ExecutorService executor;
+    private volatile Boolean running = false;
+
+    @Autowired
+    public LogIngestionBuffer(LogService logService,
+                              MeterRegistry registry,
+                              @Value("${app.ingestion.async.enabled:false}") Boolean enabled,
+                              @Value("${app.ingestion.async.capacity:10000}") Integer capacity,
+                              @Value("${app.ingestion.async.writers:2}") Integer writers,
+                              @Value("${app.ingestion.async.flush-size:500}") Integer flushSize,
+                              @Value("${app.ingestion.async.flush-interval-ms:200}") Long flushIntervalMillis,
+                              @Value("${app.ingestion.async.full-policy:REJECT}") QueueFullPolicy fullPolicy,
+                              @Value("${app.ingestion.async.block-timeout-ms:500}") Long blockTimeoutMillis) {
+        this.logService = logService;
+        this.enabled = enabled;
+        this.writers = writers;
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.fullPolicy = fullPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("logstack.ingest.buffer.depth", queue, BlockingQueue::size)
+                .description("Logs waiting in the ingestion buffer")
+                .register(registry);
+        this.flushSizeSummary = DistributionSummary.builder("logstack.ingest.buffer.flush.size")
+                .description("Logs written per group commit")
+                .register(registry);
+        this.flushLatency = Timer.builder("logstack.ingest.buffer.flush.latency")
+                .description("Time spent writing a group commit")
+                .register(registry);
+        this.rejected = Counter.builder("logstack.ingest.buffer.rejected")
+                .description("Logs rejected because the ingestion buffer was full")
+                .register(registry);
+        this.failed = Counter.builder("logstack.ingest.buffer.failed")
+                .description("Logs lost because the database rejected them or their group commit failed")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(writers, r -> {
+            Thread thread = new Thread(r, "log-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            executor.execute(this::drain);
+        }
+        log.info("Async ingestion enabled with {} writers, capacity {}", writers, queue.remainingCapacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) return;
+
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Ingestion buffer stopped with {} logs not written", queue.size());
+        }
+    }
+
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    public void offer(Log log) {
+        if (!enqueue(log)) {
+            rejected.increment();
+            throw new TooManyRequestsException("Ingestion queue is full", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private Boolean enqueue(Log log) {
+        if (fullPolicy == QueueFullPolicy.REJECT) {
+            return queue.offer(log);
+        }
+        try {
+            return queue.offer(log, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Log> batch = nextBatch();
+                if (!batch.isEmpty()) flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<Log> nextBatch() throws InterruptedException {
+        List<Log> batch = new ArrayList<>(flushSize);
+
+        Log first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) return batch;
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0) break;
+
+            Log next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flush(List<Log> batch) {
+        try {
+            flushLatency.record(() -> logService.saveAll(batch));
+            flushSizeSummary.record(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            batch.forEach(entry -> entry.setId(null));
+            if (batch.size() == 1) {
+                fail(batch, e);
+            } else {
+                Integer half = batch.size() / 2;
+                flush(batch.subList(0, half));
+                flush(batch.subList(half, batch.size()));
+            }
+        } catch (RuntimeException e) {
+            fail(batch, e);
+        }
+    }
+
+    private void fail(List<Log> batch, RuntimeException e) {
+        failed.increment(batch.size());
+        log.error("Could not write {} buffered logs", batch.size(), e);
+    }
+
+}
@@ -0,0 +1,234 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.exception.InvalidLogException;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.ingestion.journal.FsyncPolicy;
+import br.com.codenation.logstackapi.ingestion.journal.JournalRecord;
+import br.com.codenation.logstackapi.ingestion.journal.LogJournal;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import br.com.codenation.logstackapi.service.CustomerService;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class LogIngestionJournal {
+
+    private static final Long RETRY_AFTER_SECONDS = 1L;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+    private static final Integer CUSTOMER_ID_BYTES = 16;
+
+    private final LogService logService;
+    private final CustomerService customerService;
+    private final LogCodec codec;
+    private final MeterRegistry registry;
+    private final Boolean enabled;
+    private final String directory;
+    private final Integer segmentBytes;
+    private final Long maxBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final Long fsyncIntervalMillis;
+    private final Integer flushSize;
+    private final Long flushIntervalMillis;
+
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter discarded;
+    private final Counter failed;
+
+    private LogJournal journal;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public LogIngestionJournal(LogService logService,
+                               CustomerService customerService,
+                               LogCodec codec,
+                               MeterRegistry registry,
+                               @Value("${app.ingestion.journal.enabled:false}") Boolean enabled,
+                               @Value("${app.ingestion.journal.directory:journal}") String directory,
+                               @Value("${app.ingestion.journal.segment-bytes:67108864}") Integer segmentBytes,
+                               @Value("${app.ingestion.journal.max-bytes:1073741824}") Long maxBytes,
+                               @Value("${app.ingestion.journal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                               @Value("${app.ingestion.journal.fsync-interval-ms:1000}") Long fsyncIntervalMillis,
+                               @Value("${app.ingestion.journal.flush-size:500}") Integer flushSize,
+                               @Value("${app.ingestion.journal.flush-interval-ms:200}") Long flushIntervalMillis) {
+        this.logService = logService;
+        this.customerService = customerService;
+        this.codec = codec;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        this.rejected = Counter.builder("logstack.ingest.journal.rejected")
+                .description("Logs rejected because the ingestion journal was full")
+                .register(registry);
+        this.flushed = Counter.builder("logstack.ingest.journal.flushed")
+                .description("Journaled logs written to the database")
+                .register(registry);
+        this.discarded = Counter.builder("logstack.ingest.journal.discarded")
+                .description("Journaled logs skipped because their customer, payload or row was rejected")
+                .register(registry);
+        this.failed = Counter.builder("logstack.ingest.journal.flush.failed")
+                .description("Journal flushes that failed and will be retried")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+
+        journal = LogJournal.open(Paths.get(directory), segmentBytes, maxBytes, fsyncPolicy);
+        Gauge.builder("logstack.ingest.journal.pending.bytes", journal, LogJournal::pendingBytes)
+                .description("Journal bytes not yet written to the database")
+                .register(registry);
+
+        executor = Executors.newScheduledThreadPool(2, r -> {
+            Thread thread = new Thread(r, "log-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, 0, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            executor.scheduleAtFixedRate(journal::force, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("Ingestion journal enabled at {} with fsync policy {}", directory, fsyncPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) return;
+
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Ingestion journal stopped with {} bytes pending replay", journal.pendingBytes());
+        }
+        journal.close();
+    }
+
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(UUID apiKey, Log log) {
+        List<LogViolation> violations = codec.validate(log);
+        if (!violations.isEmpty()) throw new InvalidLogException(violations);
+
+        Customer customer = logService.admit(apiKey, 1);
+        if (!journal.append(encode(customer, log))) {
+            rejected.increment();
+            throw new TooManyRequestsException("Ingestion journal is full", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<JournalRecord> records;
+            do {
+                records = journal.read(journal.getCheckpoint(), flushSize);
+                if (!records.isEmpty()) flush(records);
+            } while (records.size() == flushSize);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Could not flush the ingestion journal, retrying from position {}", journal.getCheckpoint(), e);
+        }
+    }
+
+    private void flush(List<JournalRecord> records) {
+        Map<UUID, Optional<Customer>> customers = new HashMap<>();
+        List<Log> logs = new ArrayList<>(records.size());
+        List<Long> positions = new ArrayList<>(records.size());
+
+        for (JournalRecord record : records) {
+            ByteBuffer payload = ByteBuffer.wrap(record.getPayload());
+            UUID customerId = new UUID(payload.getLong(), payload.getLong());
+            Optional<Customer> customer = customers.computeIfAbsent(customerId, customerService::findById);
+            Optional<Log> decoded = decode(record);
+            if (customer.isPresent() && decoded.isPresent()) {
+                logs.add(logService.prepare(customer.get(), decoded.get()));
+                positions.add(record.getPosition());
+            } else {
+                discarded.increment();
+            }
+        }
+
+        Integer written = write(logs, positions);
+        journal.commit(records.get(records.size() - 1).getNextPosition());
+        flushed.increment(written);
+    }
+
+    private Integer write(List<Log> logs, List<Long> positions) {
+        if (logs.isEmpty()) return 0;
+        try {
+            logService.saveAll(logs);
+            return logs.size();
+        } catch (DataIntegrityViolationException e) {
+            logs.forEach(entry -> entry.setId(null));
+            if (logs.size() == 1) {
+                discarded.increment();
+                log.warn("Skipping journal record at position {} rejected by the database", positions.get(0), e);
+                return 0;
+            }
+            Integer half = logs.size() / 2;
+            return write(logs.subList(0, half), positions.subList(0, half))
+                    + write(logs.subList(half, logs.size()), positions.subList(half, positions.size()));
+        }
+    }
+
+    private byte[] encode(Customer customer, Log log) {
+        try {
+            byte[] json = codec.encode(log);
+            return ByteBuffer.allocate(CUSTOMER_ID_BYTES + json.length)
+                    .putLong(customer.getId().getMostSignificantBits())
+                    .putLong(customer.getId().getLeastSignificantBits())
+                    .put(json)
+                    .array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize log for the journal", e);
+        }
+    }
+
+    private Optional<Log> decode(JournalRecord record) {
+        byte[] payload = record.getPayload();
+        List<LogViolation> violations = new ArrayList<>();
+        try {
+            Log decoded = codec.replay(payload, CUSTOMER_ID_BYTES, payload.length - CUSTOMER_ID_BYTES, violations);
+            if (violations.isEmpty()) return Optional.of(decoded);
+            log.warn("Skipping invalid journal record at position {}: {}", record.getPosition(), violations);
+        } catch (IOException e) {
+            log.warn("Skipping unreadable journal record at position {}", record.getPosition(), e);
+        }
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class NdjsonLineReader {
+
+    private static final Integer READ_BUFFER_SIZE = 8192;
+    private static final Integer INITIAL_LINE_SIZE = 1024;
+
+    private final InputStream in;
+    private final Integer maxLineBytes;
+    private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+    private byte[] line = new byte[INITIAL_LINE_SIZE];
+    private int length;
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private boolean truncated;
+
+    public NdjsonLineReader(InputStream in, Integer maxLineBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public boolean next() throws IOException {
+        length = 0;
+        truncated = false;
+        boolean consumed = false;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!consumed) return false;
+                lineNumber++;
+                return true;
+            }
+
+            consumed = true;
+            byte b = buffer[position++];
+            if (b == '\n') {
+                lineNumber++;
+                return true;
+            }
+            append(b);
+        }
+    }
+
+    public byte[] getLine() {
+        return line;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void append(byte b) {
+        if (length == maxLineBytes) {
+            truncated = true;
+            return;
+        }
+        if (length == line.length) {
+            line = Arrays.copyOf(line, Math.min(line.length * 2, maxLineBytes));
+        }
+        line[length++] = b;
+    }
+
+}
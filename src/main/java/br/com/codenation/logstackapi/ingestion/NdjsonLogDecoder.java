@@ -0,0 +1,84 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogIngestionSummary;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import br.com.codenation.logstackapi.service.LogService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class NdjsonLogDecoder {
+
+    private final LogService logService;
+    private final IngestRateLimiter rateLimiter;
+    private final LogCodec codec;
+    private final Customer customer;
+    private final Integer maxLineBytes;
+    private final LogIngestionSummary summary = new LogIngestionSummary();
+    private final List<LogViolation> violations = new ArrayList<>();
+
+    public NdjsonLogDecoder(LogService logService,
+                            IngestRateLimiter rateLimiter,
+                            LogCodec codec,
+                            Customer customer,
+                            Integer maxLineBytes) {
+        this.logService = logService;
+        this.rateLimiter = rateLimiter;
+        this.codec = codec;
+        this.customer = customer;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public Optional<Log> decode(byte[] line, Integer length, Long lineNumber, Boolean truncated) {
+        if (isBlank(line, length)) return Optional.empty();
+
+        if (truncated) {
+            summary.reject(lineNumber, "line exceeds " + maxLineBytes + " bytes");
+            return Optional.empty();
+        }
+
+        Log log;
+        violations.clear();
+        try {
+            log = codec.decode(line, 0, length, violations);
+        } catch (IOException e) {
+            summary.reject(lineNumber, "malformed JSON");
+            return Optional.empty();
+        }
+
+        if (!violations.isEmpty()) {
+            summary.reject(lineNumber, violations.stream()
+                    .map(LogViolation::toString)
+                    .collect(Collectors.joining(", ")));
+            return Optional.empty();
+        }
+
+        if (rateLimiter.tryAcquire(customer, 1) > 0) {
+            summary.reject(lineNumber, "rate limit exceeded");
+            return Optional.empty();
+        }
+
+        return Optional.of(logService.prepare(customer, log));
+    }
+
+    public Integer getMaxLineBytes() {
+        return maxLineBytes;
+    }
+
+    public LogIngestionSummary getSummary() {
+        return summary;
+    }
+
+    private static boolean isBlank(byte[] line, Integer length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) return false;
+        }
+        return true;
+    }
+
+}
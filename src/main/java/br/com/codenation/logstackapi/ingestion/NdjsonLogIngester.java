@@ -0,0 +1,80 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogIngestionSummary;
+import br.com.codenation.logstackapi.service.LogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class NdjsonLogIngester {
+
+    private final LogService logService;
+    private final IngestRateLimiter rateLimiter;
+    private final EntityManager entityManager;
+    private final LogCodec codec;
+    private final Integer batchSize;
+    private final Integer maxLineBytes;
+
+    @Autowired
+    public NdjsonLogIngester(LogService logService,
+                             IngestRateLimiter rateLimiter,
+                             EntityManager entityManager,
+                             LogCodec codec,
+                             @Value("${app.ingestion.ndjson.batch-size:500}") Integer batchSize,
+                             @Value("${app.ingestion.ndjson.max-line-bytes:65536}") Integer maxLineBytes) {
+        this.logService = logService;
+        this.rateLimiter = rateLimiter;
+        this.entityManager = entityManager;
+        this.codec = codec;
+        this.batchSize = batchSize;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    public LogIngestionSummary ingest(UUID apiKey, InputStream body) throws IOException {
+
+        NdjsonLogDecoder decoder = decoder(logService.findCustomerByApiKey(apiKey));
+        LogIngestionSummary summary = decoder.getSummary();
+        NdjsonLineReader lines = new NdjsonLineReader(body, maxLineBytes);
+        List<Log> batch = new ArrayList<>(batchSize);
+
+        while (lines.next()) {
+            decoder.decode(lines.getLine(), lines.getLength(), lines.getLineNumber(), lines.isTruncated())
+                    .ifPresent(batch::add);
+            if (batch.size() >= batchSize) flush(batch, summary);
+        }
+
+        flush(batch, summary);
+        return summary;
+    }
+
+    public NdjsonLogDecoder decoder(Customer customer) {
+        return new NdjsonLogDecoder(logService, rateLimiter, codec, customer, maxLineBytes);
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public Integer getMaxLineBytes() {
+        return maxLineBytes;
+    }
+
+    private void flush(List<Log> batch, LogIngestionSummary summary) {
+        if (batch.isEmpty()) return;
+        logService.saveAll(batch);
+        summary.accept(batch.size());
+        batch.clear();
+        entityManager.clear();
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+
+    private final Double rate;
+    private final Integer burst;
+    private final Long nanosPerToken;
+    private final Long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(Double rate, Integer burst, long now) {
+        this.rate = rate;
+        this.burst = burst;
+        this.nanosPerToken = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.toleranceNanos = nanosPerToken * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    public long tryAcquire(int permits, long now) {
+        long cost = nanosPerToken * permits;
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) return excess;
+            if (theoreticalArrival.compareAndSet(current, next)) return 0L;
+        }
+    }
+
+    public boolean hasLimits(Double rate, Integer burst) {
+        return this.rate.equals(rate) && this.burst.equals(burst);
+    }
+
+    public Integer getBurst() {
+        return burst;
+    }
+
+}
@@ -0,0 +1,7 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+public enum FsyncPolicy {
+
+    ALWAYS, INTERVAL, NEVER
+
+}
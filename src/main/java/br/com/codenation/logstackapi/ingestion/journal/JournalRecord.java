@@ -0,0 +1,14 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class JournalRecord {
+
+    private Long position;
+    private Long nextPosition;
+    private byte[] payload;
+
+}
@@ -0,0 +1,256 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+@Slf4j
+public class LogJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final Integer HEADER_BYTES = 8;
+    private static final Integer ROLL_MARKER = -1;
+
+    private final Path directory;
+    private final Integer segmentBytes;
+    private final Long maxBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final ConcurrentNavigableMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    private volatile long writePosition;
+    private volatile long checkpoint;
+
+    private LogJournal(Path directory, Integer segmentBytes, Long maxBytes, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public static LogJournal open(Path directory, Integer segmentBytes, Long maxBytes, FsyncPolicy fsyncPolicy) throws IOException {
+        Files.createDirectories(directory);
+        LogJournal journal = new LogJournal(directory, segmentBytes, maxBytes, fsyncPolicy);
+        journal.recover();
+        return journal;
+    }
+
+    public synchronized boolean append(byte[] payload) {
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Journal record must not be empty");
+        }
+        int needed = HEADER_BYTES + payload.length;
+        if (needed > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds the segment size");
+        }
+        if (writePosition - checkpoint + needed > maxBytes) return false;
+
+        Map.Entry<Long, MappedByteBuffer> segment = segments.lastEntry();
+        int offset = (int) (writePosition - segment.getKey());
+        if (offset + needed > segmentBytes) {
+            if (offset + Integer.BYTES <= segmentBytes) {
+                segment.getValue().putInt(offset, ROLL_MARKER);
+            }
+            segment = roll(segment.getKey() + segmentBytes);
+            offset = 0;
+        }
+
+        MappedByteBuffer buffer = segment.getValue();
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset + HEADER_BYTES);
+        target.put(payload);
+        buffer.putInt(offset + Integer.BYTES, checksum(payload, 0, payload.length));
+        buffer.putInt(offset, payload.length);
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) buffer.force();
+        writePosition = segment.getKey() + offset + needed;
+        return true;
+    }
+
+    public List<JournalRecord> read(long from, int maxRecords) {
+        List<JournalRecord> records = new ArrayList<>();
+        long position = from;
+        long end = writePosition;
+
+        while (position < end && records.size() < maxRecords) {
+            Map.Entry<Long, MappedByteBuffer> segment = segments.floorEntry(position);
+            int offset = (int) (position - segment.getKey());
+            int length = offset + Integer.BYTES > segmentBytes ? ROLL_MARKER : segment.getValue().getInt(offset);
+            if (length == ROLL_MARKER) {
+                position = segment.getKey() + segmentBytes;
+                continue;
+            }
+
+            byte[] payload = new byte[length];
+            ByteBuffer source = segment.getValue().duplicate();
+            source.position(offset + HEADER_BYTES);
+            source.get(payload);
+            if (checksum(payload, 0, length) != segment.getValue().getInt(offset + Integer.BYTES)) {
+                throw new IllegalStateException("Corrupted journal record at position " + position);
+            }
+
+            long next = position + HEADER_BYTES + length;
+            records.add(new JournalRecord(position, next, payload));
+            position = next;
+        }
+        return records;
+    }
+
+    public synchronized void commit(long position) {
+        try {
+            Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+            ByteBuffer value = ByteBuffer.allocate(Long.BYTES).putLong(0, position);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(value);
+                if (fsyncPolicy != FsyncPolicy.NEVER) channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE);
+            checkpoint = position;
+            deleteConsumedSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void force() {
+        segments.values().forEach(MappedByteBuffer::force);
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getWritePosition() {
+        return writePosition;
+    }
+
+    public long pendingBytes() {
+        return writePosition - checkpoint;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (fsyncPolicy != FsyncPolicy.NEVER) force();
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, map(file));
+            }
+        }
+
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+        } else {
+            checkpoint = segments.isEmpty() ? 0L : segments.firstKey();
+        }
+
+        if (segments.isEmpty()) {
+            roll(checkpoint - checkpoint % segmentBytes);
+        }
+
+        writePosition = scan(Math.max(checkpoint, segments.firstKey()));
+
+        Map.Entry<Long, MappedByteBuffer> tail = segments.floorEntry(writePosition);
+        for (Long base : new ArrayList<>(segments.tailMap(tail.getKey(), false).keySet())) {
+            segments.remove(base);
+            Files.deleteIfExists(segmentFile(base));
+        }
+        clear(tail.getValue(), (int) (writePosition - tail.getKey()));
+
+        if (pendingBytes() > 0) {
+            log.info("Journal recovered with {} bytes pending replay from position {}", pendingBytes(), checkpoint);
+        }
+    }
+
+    private long scan(long from) {
+        long position = from;
+        while (true) {
+            Map.Entry<Long, MappedByteBuffer> segment = segments.floorEntry(position);
+            MappedByteBuffer buffer = segment.getValue();
+            int offset = (int) (position - segment.getKey());
+
+            int length = offset + Integer.BYTES > segmentBytes ? ROLL_MARKER : buffer.getInt(offset);
+            if (length == ROLL_MARKER) {
+                long next = segment.getKey() + segmentBytes;
+                if (!segments.containsKey(next)) return position;
+                position = next;
+                continue;
+            }
+            if (length <= 0 || offset + HEADER_BYTES + length > segmentBytes) return position;
+
+            byte[] payload = new byte[length];
+            ByteBuffer source = buffer.duplicate();
+            source.position(offset + HEADER_BYTES);
+            source.get(payload);
+            if (checksum(payload, 0, length) != buffer.getInt(offset + Integer.BYTES)) return position;
+
+            position += HEADER_BYTES + length;
+        }
+    }
+
+    private Map.Entry<Long, MappedByteBuffer> roll(long base) {
+        try {
+            MappedByteBuffer buffer = map(segmentFile(base));
+            segments.put(base, buffer);
+            return segments.lastEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    private void clear(MappedByteBuffer buffer, int from) {
+        for (int i = from; i < segmentBytes; i++) {
+            if (buffer.get(i) != 0) buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void deleteConsumedSegments() throws IOException {
+        for (Long base : new ArrayList<>(segments.headMap(segments.lastKey()).keySet())) {
+            if (base + segmentBytes > checkpoint) return;
+            segments.remove(base);
+            Files.deleteIfExists(segmentFile(base));
+        }
+    }
+
+    private Path segmentFile(long base) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+    }
+
+    private int checksum(byte[] payload, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+}
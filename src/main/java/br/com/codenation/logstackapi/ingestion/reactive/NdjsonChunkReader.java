@@ -0,0 +1,68 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.ingestion.NdjsonLogDecoder;
+import br.com.codenation.logstackapi.model.entity.Log;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class NdjsonChunkReader {
+
+    private static final Integer INITIAL_LINE_SIZE = 1024;
+
+    private final NdjsonLogDecoder decoder;
+    private final Integer maxLineBytes;
+
+    private byte[] line = new byte[INITIAL_LINE_SIZE];
+    private int length;
+    private long lineNumber;
+    private boolean truncated;
+    private boolean consumed;
+
+    public NdjsonChunkReader(NdjsonLogDecoder decoder) {
+        this.decoder = decoder;
+        this.maxLineBytes = decoder.getMaxLineBytes();
+    }
+
+    public List<Log> read(ByteBuffer chunk) {
+        List<Log> logs = new ArrayList<>();
+        while (chunk.hasRemaining()) {
+            byte b = chunk.get();
+            consumed = true;
+            if (b == '\n') {
+                endLine(logs);
+            } else {
+                append(b);
+            }
+        }
+        return logs;
+    }
+
+    public List<Log> finish() {
+        List<Log> logs = new ArrayList<>(1);
+        if (consumed) endLine(logs);
+        return logs;
+    }
+
+    private void endLine(List<Log> logs) {
+        lineNumber++;
+        decoder.decode(line, length, lineNumber, truncated).ifPresent(logs::add);
+        length = 0;
+        truncated = false;
+        consumed = false;
+    }
+
+    private void append(byte b) {
+        if (length == maxLineBytes) {
+            truncated = true;
+            return;
+        }
+        if (length == line.length) {
+            line = Arrays.copyOf(line, Math.min(line.length * 2, maxLineBytes));
+        }
+        line[length++] = b;
+    }
+
+}
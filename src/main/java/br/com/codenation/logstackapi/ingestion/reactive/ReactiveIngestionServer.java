@@ -0,0 +1,125 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.ingestion.LogCodec;
+import br.com.codenation.logstackapi.ingestion.NdjsonLogIngester;
+import br.com.codenation.logstackapi.mappers.LogMapper;
+import br.com.codenation.logstackapi.service.LogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+@Slf4j
+@Component
+public class ReactiveIngestionServer {
+
+    private static final Integer SELECTOR_THREADS = 1;
+
+    private final LogService logService;
+    private final NdjsonLogIngester ndjsonIngester;
+    private final LogCodec codec;
+    private final LogMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Boolean enabled;
+    private final String bindAddress;
+    private final Integer port;
+    private final Integer eventLoopThreads;
+    private final Integer blockingThreads;
+    private final Integer writers;
+    private final Integer capacity;
+    private final Integer flushSize;
+    private final Long flushIntervalMillis;
+
+    private LoopResources loops;
+    private Scheduler blocking;
+    private ReactiveLogWriter writer;
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveIngestionServer(LogService logService,
+                                   NdjsonLogIngester ndjsonIngester,
+                                   LogCodec codec,
+                                   LogMapper mapper,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry registry,
+                                   @Value("${app.ingestion.reactive.enabled:false}") Boolean enabled,
+                                   @Value("${app.ingestion.reactive.bind-address:0.0.0.0}") String bindAddress,
+                                   @Value("${app.ingestion.reactive.port:8081}") Integer port,
+                                   @Value("${app.ingestion.reactive.event-loop-threads:2}") Integer eventLoopThreads,
+                                   @Value("${app.ingestion.reactive.blocking-threads:4}") Integer blockingThreads,
+                                   @Value("${app.ingestion.reactive.writers:2}") Integer writers,
+                                   @Value("${app.ingestion.reactive.capacity:50000}") Integer capacity,
+                                   @Value("${app.ingestion.reactive.flush-size:500}") Integer flushSize,
+                                   @Value("${app.ingestion.reactive.flush-interval-ms:200}") Long flushIntervalMillis) {
+        this.logService = logService;
+        this.ndjsonIngester = ndjsonIngester;
+        this.codec = codec;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+        this.blockingThreads = blockingThreads;
+        this.writers = writers;
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        writer = new ReactiveLogWriter(logService, registry, writers, capacity, flushSize, flushIntervalMillis);
+        writer.start();
+        blocking = Schedulers.newParallel("reactive-ingest-blocking", blockingThreads, true);
+        loops = LoopResources.create("reactive-ingest", SELECTOR_THREADS, eventLoopThreads, true);
+
+        ReactiveLogHandler handler = new ReactiveLogHandler(logService, ndjsonIngester, codec, mapper, writer, blocking);
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        server = HttpServer.create()
+                .host(bindAddress)
+                .port(port)
+                .tcpConfiguration(tcp -> tcp.runOn(loops))
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive ingestion server bound to {} with {} event loop threads", server.address(), eventLoopThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (server == null) return;
+
+        server.disposeNow();
+        writer.stop();
+        blocking.dispose();
+        loops.dispose();
+    }
+
+    public Integer getPort() {
+        return server == null ? null : server.port();
+    }
+
+}
@@ -0,0 +1,155 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.exception.InvalidLogException;
+import br.com.codenation.logstackapi.exception.PayloadTooLargeException;
+import br.com.codenation.logstackapi.exception.ReactiveExceptionHandler;
+import br.com.codenation.logstackapi.ingestion.LogCodec;
+import br.com.codenation.logstackapi.ingestion.NdjsonLogDecoder;
+import br.com.codenation.logstackapi.ingestion.NdjsonLogIngester;
+import br.com.codenation.logstackapi.mappers.LogMapper;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import br.com.codenation.logstackapi.service.LogService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+public class ReactiveLogHandler {
+
+    private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final Integer MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+    private final LogService logService;
+    private final NdjsonLogIngester ndjsonIngester;
+    private final LogCodec codec;
+    private final LogMapper mapper;
+    private final ReactiveLogWriter writer;
+    private final Scheduler blocking;
+    private final ReactiveExceptionHandler errors = new ReactiveExceptionHandler();
+
+    public ReactiveLogHandler(LogService logService,
+                              NdjsonLogIngester ndjsonIngester,
+                              LogCodec codec,
+                              LogMapper mapper,
+                              ReactiveLogWriter writer,
+                              Scheduler blocking) {
+        this.logService = logService;
+        this.ndjsonIngester = ndjsonIngester;
+        this.codec = codec;
+        this.mapper = mapper;
+        this.writer = writer;
+        this.blocking = blocking;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions
+                .route(POST("/api/v1/logs").and(contentType(MediaType.APPLICATION_JSON, CBOR)), this::save)
+                .andRoute(POST("/api/v1/logs/stream").and(contentType(NDJSON)), this::saveStream)
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)).onErrorResume(errors::handle));
+    }
+
+    private Mono<ServerResponse> save(ServerRequest request) {
+        UUID apiKey = apiKey(request);
+        String idempotencyKey = idempotencyKey(request);
+        Boolean cbor = request.headers().contentType().map(CBOR::isCompatibleWith).orElse(false);
+
+        return body(request, ndjsonIngester.getMaxLineBytes())
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new IllegalArgumentException("Required request body is missing"))))
+                .flatMap(body -> Mono.fromCallable(() -> decode(body, cbor)))
+                .flatMap(log -> {
+                    if (log.getIdempotencyKey() == null) log.setIdempotencyKey(idempotencyKey);
+                    return blocking(() -> logService.prepare(apiKey, log));
+                })
+                .flatMap(log -> writer.write(Collections.singletonList(log)))
+                .then(ServerResponse.accepted().build());
+    }
+
+    private Mono<ServerResponse> saveStream(ServerRequest request) {
+        UUID apiKey = apiKey(request);
+
+        return blocking(() -> logService.findCustomerByApiKey(apiKey))
+                .flatMap(customer -> {
+                    NdjsonLogDecoder decoder = ndjsonIngester.decoder(customer);
+                    NdjsonChunkReader reader = new NdjsonChunkReader(decoder);
+                    return request.body(BodyExtractors.toDataBuffers())
+                            .concatMapIterable(buffer -> read(reader, buffer))
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(reader.finish())))
+                            .buffer(ndjsonIngester.getBatchSize())
+                            .concatMap(batch -> writer.write(batch).thenReturn(batch.size()))
+                            .doOnNext(decoder.getSummary()::accept)
+                            .then(Mono.fromSupplier(decoder::getSummary));
+                })
+                .flatMap(summary -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(mapper.map(summary)));
+    }
+
+    private Log decode(DataBuffer body, Boolean cbor) throws IOException {
+        List<LogViolation> violations = new ArrayList<>();
+        Log log = codec.decode(body.asInputStream(true), cbor, violations);
+        if (!violations.isEmpty()) throw new InvalidLogException(violations);
+        return log;
+    }
+
+    private static List<Log> read(NdjsonChunkReader reader, DataBuffer buffer) {
+        try {
+            return reader.read(buffer.asByteBuffer());
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static Mono<DataBuffer> body(ServerRequest request, Integer maxBytes) {
+        AtomicInteger size = new AtomicInteger();
+        Flux<DataBuffer> buffers = request.body(BodyExtractors.toDataBuffers())
+                .handle((buffer, sink) -> {
+                    if (size.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new PayloadTooLargeException("Log exceeds " + maxBytes + " bytes"));
+                    } else {
+                        sink.next(buffer);
+                    }
+                });
+        return DataBufferUtils.join(buffers);
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(blocking);
+    }
+
+    private static UUID apiKey(ServerRequest request) {
+        return request.queryParam("apiKey")
+                .map(UUID::fromString)
+                .orElseThrow(() -> new IllegalArgumentException("apiKey parameter is missing"));
+    }
+
+    private static String idempotencyKey(ServerRequest request) {
+        String idempotencyKey = request.headers().asHttpHeaders().getFirst(IDEMPOTENCY_KEY);
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " must have at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return idempotencyKey;
+    }
+
+}
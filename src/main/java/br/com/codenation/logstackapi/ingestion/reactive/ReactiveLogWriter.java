@@ -0,0 +1,200 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReactiveLogWriter {
+
+    private static final Long RETRY_AFTER_SECONDS = 1L;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final LogService logService;
+    private final Integer writers;
+    private final Integer capacity;
+    private final Integer flushSize;
+    private final Long flushIntervalNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final DistributionSummary flushSizeSummary;
+    private final Timer flushLatency;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private ExecutorService executor;
+    private volatile Boolean running = false;
+
+    public ReactiveLogWriter(LogService logService,
+                             MeterRegistry registry,
+                             Integer writers,
+                             Integer capacity,
+                             Integer flushSize,
+                             Long flushIntervalMillis) {
+        this.logService = logService;
+        this.writers = writers;
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        Gauge.builder("logstack.ingest.reactive.pending", pending, AtomicInteger::get)
+                .description("Logs received by the reactive ingestion server and not yet written")
+                .register(registry);
+        this.flushSizeSummary = DistributionSummary.builder("logstack.ingest.reactive.flush.size")
+                .description("Logs written per group commit of the reactive ingestion server")
+                .register(registry);
+        this.flushLatency = Timer.builder("logstack.ingest.reactive.flush.latency")
+                .description("Time spent writing a group commit of the reactive ingestion server")
+                .register(registry);
+        this.rejected = Counter.builder("logstack.ingest.reactive.rejected")
+                .description("Logs rejected because the reactive ingestion server had too many pending writes")
+                .register(registry);
+        this.failed = Counter.builder("logstack.ingest.reactive.failed")
+                .description("Logs lost because their request could not be written")
+                .register(registry);
+    }
+
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(writers, r -> {
+            Thread thread = new Thread(r, "reactive-log-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    public void stop() throws InterruptedException {
+        if (executor == null) return;
+
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Reactive log writer stopped with {} logs not written", pending.get());
+        }
+    }
+
+    public Mono<Void> write(List<Log> logs) {
+        if (logs.isEmpty()) return Mono.empty();
+
+        return Mono.create(sink -> {
+            if (!running) {
+                reject(sink, logs.size());
+            } else if (pending.addAndGet(logs.size()) > capacity) {
+                pending.addAndGet(-logs.size());
+                reject(sink, logs.size());
+            } else {
+                queue.add(new PendingWrite(logs, sink));
+            }
+        });
+    }
+
+    private void reject(MonoSink<Void> sink, Integer count) {
+        rejected.increment(count);
+        sink.error(new TooManyRequestsException("Ingestion queue is full", RETRY_AFTER_SECONDS));
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<PendingWrite> batch = nextBatch();
+                if (!batch.isEmpty()) flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingWrite> nextBatch() throws InterruptedException {
+        List<PendingWrite> batch = new ArrayList<>();
+
+        PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) return batch;
+        batch.add(first);
+        int size = first.logs.size();
+
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (size < flushSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+            size += next.logs.size();
+        }
+        return batch;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Log> logs = new ArrayList<>();
+        batch.forEach(write -> logs.addAll(write.logs));
+        try {
+            flushLatency.record(() -> logService.saveAll(logs));
+            flushSizeSummary.record(logs.size());
+            batch.forEach(write -> write.sink.success());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+            } else {
+                log.warn("Group commit of {} logs failed, writing its {} requests one by one", logs.size(), batch.size(), e);
+                logs.forEach(entry -> entry.setId(null));
+                batch.forEach(this::flushAlone);
+            }
+        } finally {
+            pending.addAndGet(-logs.size());
+        }
+    }
+
+    private void flushAlone(PendingWrite write) {
+        try {
+            flushLatency.record(() -> logService.saveAll(write.logs));
+            flushSizeSummary.record(write.logs.size());
+            write.sink.success();
+        } catch (RuntimeException e) {
+            fail(write, e);
+        }
+    }
+
+    private void fail(PendingWrite write, RuntimeException e) {
+        failed.increment(write.logs.size());
+        log.error("Could not write {} logs received by the reactive ingestion server", write.logs.size(), e);
+        write.sink.error(e);
+    }
+
+    private static class PendingWrite {
+
+        private final List<Log> logs;
+        private final MonoSink<Void> sink;
+
+        private PendingWrite(List<Log> logs, MonoSink<Void> sink) {
+            this.logs = logs;
+            this.sink = sink;
+        }
+
+    }
+
+}
@@ -1,8 +1,13 @@
 package br.com.codenation.logstackapi.mappers;
 
 import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.dto.response.LogBatchItemResponseDTO;
+import br.com.codenation.logstackapi.dto.response.LogBatchResponseDTO;
+import br.com.codenation.logstackapi.dto.response.LogIngestionSummaryResponseDTO;
 import br.com.codenation.logstackapi.dto.response.LogResponseDTO;
 import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogBatchItem;
+import br.com.codenation.logstackapi.model.entity.LogIngestionSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
@@ -41,6 +46,25 @@ public interface LogMapper {
     })
     Log map(LogRequestDTO dto);
 
+    @Mappings({
+            @Mapping(source = "index", target = "index"),
+            @Mapping(source = "accepted", target = "accepted"),
+            @Mapping(source = "log.id", target = "id"),
+            @Mapping(source = "errors", target = "errors"),
+    })
+    LogBatchItemResponseDTO map(LogBatchItem item);
+
+    List<LogBatchItemResponseDTO> mapItems(List<LogBatchItem> items);
+
+    LogIngestionSummaryResponseDTO map(LogIngestionSummary summary);
 
+    default LogBatchResponseDTO mapBatch(List<LogBatchItem> items) {
+        long accepted = items.stream().filter(LogBatchItem::isAccepted).count();
+        return LogBatchResponseDTO.builder()
+                .accepted(accepted)
+                .rejected(items.size() - accepted)
+                .items(mapItems(items))
+                .build();
+    }
 
 }
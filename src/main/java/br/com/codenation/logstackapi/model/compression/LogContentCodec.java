@@ -0,0 +1,126 @@
+package br.com.codenation.logstackapi.model.compression;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class LogContentCodec {
+
+    public static final Integer MAX_INDEX_LENGTH = 5000;
+
+    private static final byte FORMAT_DEFLATE_V1 = 1;
+    private static final Integer BUFFER_BYTES = 4096;
+
+    private static final byte[] DICTIONARY_V1 = (
+            "java.lang.NullPointerException java.lang.IllegalArgumentException java.lang.IllegalStateException "
+                    + "java.lang.RuntimeException java.io.IOException java.sql.SQLException Caused by: ... more "
+                    + "Exception in thread \"main\" at java.lang.Thread.run(Thread.java:748) "
+                    + "at java.util.concurrent.ThreadPoolExecutor.runWorker(ThreadPoolExecutor.java:1149) "
+                    + "at java.util.concurrent.ThreadPoolExecutor$Worker.run(ThreadPoolExecutor.java:624) "
+                    + "at sun.reflect.NativeMethodAccessorImpl.invoke(NativeMethodAccessorImpl.java) "
+                    + "at sun.reflect.DelegatingMethodAccessorImpl.invoke(DelegatingMethodAccessorImpl.java:43) "
+                    + "at java.lang.reflect.Method.invoke(Method.java:498) "
+                    + "at org.apache.catalina.core.ApplicationFilterChain.internalDoFilter(ApplicationFilterChain.java:193) "
+                    + "at org.apache.catalina.core.ApplicationFilterChain.doFilter(ApplicationFilterChain.java:166) "
+                    + "at org.apache.catalina.core.StandardWrapperValve.invoke(StandardWrapperValve.java:200) "
+                    + "at org.apache.tomcat.util.net.SocketProcessorBase.run(SocketProcessorBase.java:49) "
+                    + "at org.springframework.web.filter.OncePerRequestFilter.doFilter(OncePerRequestFilter.java:107) "
+                    + "at org.springframework.web.servlet.FrameworkServlet.processRequest(FrameworkServlet.java:1005) "
+                    + "at org.springframework.web.servlet.DispatcherServlet.doDispatch(DispatcherServlet.java:1039) "
+                    + "at org.springframework.web.method.support.InvocableHandlerMethod.invokeForRequest(InvocableHandlerMethod.java) "
+                    + "at org.springframework.aop.framework.ReflectiveMethodInvocation.proceed(ReflectiveMethodInvocation.java:186) "
+                    + "at org.springframework.transaction.interceptor.TransactionInterceptor.invoke(TransactionInterceptor.java:98) "
+                    + "at org.springframework.security.web.FilterChainProxy$VirtualFilterChain.doFilter(FilterChainProxy.java:334) "
+                    + "at org.hibernate.internal.SessionImpl.firePersist(SessionImpl.java) "
+                    + "ERROR WARN INFO DEBUG FATAL Connection refused timeout failed to null not found"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private LogContentCodec() {
+    }
+
+    public static byte[] compress(String content) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length / 2 + 16);
+            output.write(FORMAT_DEFLATE_V1);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] compressed) {
+        if (compressed[0] != FORMAT_DEFLATE_V1) {
+            throw new IllegalStateException("Unknown log content format " + compressed[0]);
+        }
+
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(compressed, 1, compressed.length - 1);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated log content");
+                }
+                output.write(buffer, 0, length);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted log content", e);
+        } finally {
+            inflater.end();
+            sample.stop(Timer.builder("logstack.log.content.decompress")
+                    .description("CPU time spent inflating compressed log content on read")
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    public static String index(String content) {
+        Set<String> terms = new LinkedHashSet<>(Arrays.asList(terms(content)));
+        terms.remove("");
+
+        StringBuilder index = new StringBuilder();
+        for (String term : terms) {
+            if (index.length() + term.length() + 1 > MAX_INDEX_LENGTH) break;
+            if (index.length() > 0) index.append(' ');
+            index.append(term);
+        }
+        return index.toString();
+    }
+
+    public static String searchTerms(String search) {
+        if (search == null) return null;
+        String terms = String.join(" ", terms(search)).trim();
+        return terms.isEmpty() ? search.toLowerCase(Locale.ROOT) : terms;
+    }
+
+    private static String[] terms(String text) {
+        return text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_$]+");
+    }
+
+}
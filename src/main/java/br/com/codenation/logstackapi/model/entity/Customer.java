@@ -36,4 +36,8 @@ public class Customer {
     @NotNull
     private LocalDateTime updatedDate;
 
+    private Double ingestRate;
+
+    private Integer ingestBurst;
+
 }
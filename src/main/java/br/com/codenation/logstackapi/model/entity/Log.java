@@ -1,12 +1,15 @@
 package br.com.codenation.logstackapi.model.entity;
 
+import br.com.codenation.logstackapi.model.generator.TimeOrderedUuidGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -14,16 +17,20 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "log_idempotency_key", columnNames = {"customer_id", "idempotency_key"}))
 public class Log {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME, strategy = TimeOrderedUuidGenerator.STRATEGY)
     private UUID id;
 
     @NotNull
     private String title;
 
-    @Embedded
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "application_id")
     private LogApplication application;
 
     @Embedded
@@ -40,4 +47,18 @@ public class Log {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
+    @Column(nullable = false)
+    private Integer occurrences;
+
+    private LocalDateTime lastSeen;
+
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @PrePersist
+    private void prePersist() {
+        if (occurrences == null) occurrences = 1;
+        if (lastSeen == null && detail != null) lastSeen = detail.getTimestamp();
+    }
+
 }
@@ -7,30 +7,43 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.Column;
+import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 
+@Entity
+@Table(name = "application", uniqueConstraints = @UniqueConstraint(
+        name = "application_tuple_key", columnNames = {"name", "host", "ip", "environment"}))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class LogApplication {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     @NotNull
-    @Column(name = "app_name")
+    @Column(name = "name")
     private String name;
 
     @NotNull
-    @Column(name = "app_host")
+    @Column(name = "host")
     private String host;
 
     @NotNull
-    @Column(name = "app_ip")
+    @Column(name = "ip")
     private String ip;
 
     @NotNull
-    @Column(name = "app_environment")
+    @Column(name = "environment")
     @Enumerated(value = EnumType.STRING)
     private LogEnvironment environment;
 
@@ -0,0 +1,24 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogBatchItem {
+
+    private Integer index;
+    private Log log;
+    private List<String> errors;
+
+    public boolean isAccepted() {
+        return errors == null || errors.isEmpty();
+    }
+
+}
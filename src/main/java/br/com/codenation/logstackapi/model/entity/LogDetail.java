@@ -1,5 +1,6 @@
 package br.com.codenation.logstackapi.model.entity;
 
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
 import br.com.codenation.logstackapi.model.enums.LogLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,8 +26,28 @@ public class LogDetail {
     @Enumerated(value = EnumType.STRING)
     private LogLevel level;
 
-    @NotNull
     @Column(length = 5000)
     private String content;
 
+    @Column(name = "content_compressed", length = 16384)
+    private byte[] contentCompressed;
+
+    @Column(name = "content_search", length = 5000)
+    private String contentSearch;
+
+    private transient String inflatedContent;
+
+    public String getContent() {
+        if (content != null || contentCompressed == null) return content;
+        if (inflatedContent == null) inflatedContent = LogContentCodec.decompress(contentCompressed);
+        return inflatedContent;
+    }
+
+    public void compressContent(byte[] compressed, String search) {
+        this.inflatedContent = content;
+        this.content = null;
+        this.contentCompressed = compressed;
+        this.contentSearch = search;
+    }
+
 }
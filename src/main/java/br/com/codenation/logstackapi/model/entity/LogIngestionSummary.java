@@ -0,0 +1,28 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class LogIngestionSummary {
+
+    private static final Integer MAX_REPORTED_ERRORS = 100;
+
+    private Long accepted = 0L;
+    private Long rejected = 0L;
+    private List<String> errors = new ArrayList<>();
+
+    public void accept(Integer count) {
+        accepted += count;
+    }
+
+    public void reject(Long line, String error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("line " + line + ": " + error);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class LogKey {
+
+    private static final Long MICROSECOND_NANOS = 1000L;
+
+    private final UUID id;
+    private final LocalDateTime timestamp;
+
+    public static LogKey of(Log log) {
+        return new LogKey(log.getId(), log.getDetail().getTimestamp());
+    }
+
+    public LocalDateTime getFrom() {
+        return timestamp.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public LocalDateTime getTo() {
+        return getFrom().plusNanos(MICROSECOND_NANOS);
+    }
+
+}
@@ -0,0 +1,20 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class LogPartition {
+
+    private final String name;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+}
@@ -2,12 +2,14 @@ package br.com.codenation.logstackapi.model.entity;
 
 import br.com.codenation.logstackapi.model.enums.LogEnvironment;
 import br.com.codenation.logstackapi.model.enums.LogLevel;
+import br.com.codenation.logstackapi.model.enums.LogSearchMatch;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
@@ -21,10 +23,12 @@ public class LogSearch {
     private String ip;
     private LogEnvironment environment;
     private String content;
+    private LogSearchMatch match;
     private LogLevel level;
     private LocalDateTime startTimestamp;
     private LocalDateTime endTimestamp;
     private User user;
+    private UUID customerId;
 
     public void validationValues() {
         if (endTimestamp.isBefore(startTimestamp)) {
@@ -0,0 +1,19 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LogViolation {
+
+    private String field;
+    private Object rejectedValue;
+    private String message;
+
+    @Override
+    public String toString() {
+        return field + ": " + message;
+    }
+
+}
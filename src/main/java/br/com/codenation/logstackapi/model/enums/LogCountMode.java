@@ -0,0 +1,7 @@
+package br.com.codenation.logstackapi.model.enums;
+
+public enum LogCountMode {
+
+    EXACT, ESTIMATE, NONE
+
+}
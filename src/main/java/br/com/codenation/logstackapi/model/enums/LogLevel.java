@@ -4,4 +4,22 @@ public enum LogLevel {
 
     DEBUG, ERROR, WARNING, INFO, FATAL;
 
+    public static LogLevel fromSyslogSeverity(Integer severity) {
+        if (severity == null) return INFO;
+        switch (severity) {
+            case 0:
+            case 1:
+            case 2:
+                return FATAL;
+            case 3:
+                return ERROR;
+            case 4:
+                return WARNING;
+            case 7:
+                return DEBUG;
+            default:
+                return INFO;
+        }
+    }
+
 }
@@ -0,0 +1,39 @@
+package br.com.codenation.logstackapi.model.generator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TimeOrderedUuid {
+
+    private static final Integer COUNTER_BITS = 12;
+    private static final Long VERSION = 0x7000L;
+    private static final Long VARIANT = 0x8000000000000000L;
+    private static final Long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long previous;
+        long next;
+        do {
+            previous = LAST.get();
+            next = Math.max(now, previous + 1);
+        } while (!LAST.compareAndSet(previous, next));
+
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        long mostSignificant = (timestamp << 16) | VERSION | counter;
+        long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    public static Long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+}
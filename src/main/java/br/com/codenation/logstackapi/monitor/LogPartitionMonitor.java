@@ -0,0 +1,83 @@
+package br.com.codenation.logstackapi.monitor;
+
+import br.com.codenation.logstackapi.model.entity.LogPartition;
+import br.com.codenation.logstackapi.repository.LogPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+@Slf4j
+@Component
+public class LogPartitionMonitor {
+
+    private final LogPartitionRepository repository;
+    private final ChronoUnit interval;
+    private final Integer premake;
+    private final Integer retentionDays;
+
+    @Autowired
+    public LogPartitionMonitor(LogPartitionRepository repository,
+                               @Value("${app.log.partition.interval:WEEKS}") ChronoUnit interval,
+                               @Value("${app.log.partition.premake:4}") Integer premake,
+                               @Value("${app.log.retention-days:0}") Integer retentionDays) {
+        if (interval != ChronoUnit.DAYS && interval != ChronoUnit.WEEKS) {
+            throw new IllegalArgumentException("Log partitions must span DAYS or WEEKS");
+        }
+        this.repository = repository;
+        this.interval = interval;
+        this.premake = premake;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedRateString = "${app.log.partition.check-interval-ms:3600000}")
+    public void scheduledPartitionMaintenance() {
+        maintain(LocalDateTime.now());
+    }
+
+    public void maintain(LocalDateTime now) {
+        if (repository.isPartitioned()) {
+            createAhead(now);
+            if (retentionDays > 0) dropExpired(now.minusDays(retentionDays));
+        } else if (retentionDays > 0) {
+            Integer deleted = repository.deleteBefore(now.minusDays(retentionDays));
+            if (deleted > 0) log.info("Deleted {} logs older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private void createAhead(LocalDateTime now) {
+        List<LogPartition> partitions = repository.findAll();
+        LocalDateTime horizon = start(now).plus(premake + 1L, interval);
+        LocalDateTime next = partitions.isEmpty() ? start(now) : partitions.get(partitions.size() - 1).getTo();
+        while (next.isBefore(horizon)) {
+            LocalDateTime to = start(next).plus(1, interval);
+            log.info("Created log partition {}", repository.create(next, to));
+            next = to;
+        }
+    }
+
+    private void dropExpired(LocalDateTime cutoff) {
+        repository.findAll().stream()
+                .filter(partition -> !partition.getTo().isAfter(cutoff))
+                .forEach(partition -> {
+                    repository.drop(partition);
+                    log.info("Dropped log partition {}", partition.getName());
+                });
+        repository.deleteDefaultBefore(cutoff);
+    }
+
+    private LocalDateTime start(LocalDateTime time) {
+        LocalDate date = time.toLocalDate();
+        if (interval == ChronoUnit.WEEKS) date = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return date.atStartOfDay();
+    }
+
+}
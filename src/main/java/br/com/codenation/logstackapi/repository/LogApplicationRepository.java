@@ -0,0 +1,21 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface LogApplicationRepository extends JpaRepository<LogApplication, Long> {
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends LogApplication> S save(S application);
+
+    Optional<LogApplication> findByNameAndHostAndIpAndEnvironment(String name, String host, String ip, LogEnvironment environment);
+
+}
@@ -0,0 +1,80 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.generator.TimeOrderedUuid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+@Repository
+public class LogBulkRepository {
+
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final SQLExceptionTranslator translator;
+    private final Boolean enabled;
+    private final Boolean copyEnabled;
+    private final Integer batchSize;
+
+    @Autowired
+    public LogBulkRepository(DataSource dataSource,
+                             EntityManager entityManager,
+                             @Value("${app.ingestion.bulk.enabled:false}") Boolean enabled,
+                             @Value("${app.ingestion.bulk.copy:true}") Boolean copyEnabled,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") Integer batchSize) {
+        this.dataSource = dataSource;
+        this.entityManager = entityManager;
+        this.translator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+        this.enabled = enabled;
+        this.copyEnabled = copyEnabled;
+        this.batchSize = batchSize;
+    }
+
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional
+    public List<Log> insertAll(List<Log> logs) {
+        if (logs.isEmpty()) return logs;
+
+        logs.forEach(this::assignDefaults);
+        entityManager.flush();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (copyEnabled && LogBulkWriter.supportsCopy(connection)) {
+                LogBulkWriter.copy(connection, logs);
+            } else {
+                LogBulkWriter.batch(connection, logs, batchSize);
+            }
+            return logs;
+        } catch (SQLException e) {
+            throw translator.translate("bulk insert of " + logs.size() + " logs", LogBulkWriter.INSERT_SQL, e);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not stream logs to the database", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void assignDefaults(Log log) {
+        if (log.getId() == null) log.setId(TimeOrderedUuid.generate());
+        if (log.getArchived() == null) log.setArchived(false);
+        if (log.getCheckAlert() == null) log.setCheckAlert(false);
+        if (log.getOccurrences() == null) log.setOccurrences(1);
+        if (log.getLastSeen() == null) log.setLastSeen(log.getDetail().getTimestamp());
+    }
+
+}
@@ -0,0 +1,142 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public final class LogBulkWriter {
+
+    private static final String COLUMNS = "id, title, archived, check_alert, timestamp, level, content, "
+            + "content_compressed, content_search, occurrences, last_seen, customer_id, application_id, idempotency_key";
+
+    static final String INSERT_SQL = "INSERT INTO log (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String COPY_SQL = "COPY log (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final Integer COPY_BUFFER_BYTES = 65536;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private LogBulkWriter() {
+    }
+
+    public static Boolean supportsCopy(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    public static void copy(Connection connection, List<Log> logs) throws SQLException, IOException {
+        PGCopyOutputStream stream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_BYTES);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        try {
+            for (Log log : logs) {
+                csv(writer, log);
+            }
+            writer.close();
+        } catch (IOException | RuntimeException e) {
+            if (stream.isActive()) stream.cancelCopy();
+            throw e;
+        }
+    }
+
+    public static void batch(Connection connection, List<Log> logs, Integer batchSize) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            int pending = 0;
+            for (Log log : logs) {
+                LogDetail detail = log.getDetail();
+                insert.setObject(1, log.getId());
+                insert.setString(2, log.getTitle());
+                insert.setBoolean(3, log.getArchived());
+                insert.setBoolean(4, log.getCheckAlert());
+                insert.setTimestamp(5, Timestamp.valueOf(detail.getTimestamp()));
+                insert.setString(6, detail.getLevel().name());
+                insert.setString(7, detail.getContentCompressed() == null ? detail.getContent() : null);
+                if (detail.getContentCompressed() == null) {
+                    insert.setNull(8, Types.BINARY);
+                } else {
+                    insert.setBytes(8, detail.getContentCompressed());
+                }
+                insert.setString(9, detail.getContentSearch());
+                insert.setInt(10, log.getOccurrences());
+                insert.setTimestamp(11, log.getLastSeen() == null ? null : Timestamp.valueOf(log.getLastSeen()));
+                insert.setObject(12, log.getCustomer().getId());
+                insert.setLong(13, log.getApplication().getId());
+                insert.setString(14, log.getIdempotencyKey());
+                insert.addBatch();
+                if (++pending == batchSize) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) insert.executeBatch();
+        }
+    }
+
+    static void csv(Writer writer, Log log) throws IOException {
+        LogDetail detail = log.getDetail();
+        writer.write(log.getId().toString());
+        writer.write(',');
+        text(writer, log.getTitle());
+        writer.write(',');
+        writer.write(log.getArchived().toString());
+        writer.write(',');
+        writer.write(log.getCheckAlert().toString());
+        writer.write(',');
+        timestamp(writer, detail.getTimestamp());
+        writer.write(',');
+        writer.write(detail.getLevel().name());
+        writer.write(',');
+        text(writer, detail.getContentCompressed() == null ? detail.getContent() : null);
+        writer.write(',');
+        bytes(writer, detail.getContentCompressed());
+        writer.write(',');
+        text(writer, detail.getContentSearch());
+        writer.write(',');
+        writer.write(log.getOccurrences().toString());
+        writer.write(',');
+        timestamp(writer, log.getLastSeen());
+        writer.write(',');
+        writer.write(log.getCustomer().getId().toString());
+        writer.write(',');
+        writer.write(log.getApplication().getId().toString());
+        writer.write(',');
+        text(writer, log.getIdempotencyKey());
+        writer.write('\n');
+    }
+
+    private static void text(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static void timestamp(Writer writer, LocalDateTime value) throws IOException {
+        if (value != null) writer.write(value.toString());
+    }
+
+    private static void bytes(Writer writer, byte[] value) throws IOException {
+        if (value == null) return;
+        writer.write("\\x");
+        for (byte b : value) {
+            writer.write(HEX[(b >> 4) & 0xf]);
+            writer.write(HEX[b & 0xf]);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.LogPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Repository
+public class LogPartitionRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String DEFAULT_PARTITION = "log_default";
+    private static final Pattern RANGE = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+
+    private static final String PARTITIONED_SQL = "select count(*) from pg_partitioned_table where partrelid = to_regclass('log')";
+    private static final String PARTITIONS_SQL = "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i "
+            + "join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass('log')";
+    private static final String CREATE_SQL = "select log_create_partition(?, ?)";
+    private static final String DELETE_ALERTS_SQL = "delete from alert where log_id in (select id from %s where timestamp < ?)";
+    private static final String DELETE_LOGS_SQL = "delete from %s where timestamp < ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public LogPartitionRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public Boolean isPartitioned() {
+        if (!isPostgres()) return false;
+        Long partitioned = jdbcTemplate.queryForObject(PARTITIONED_SQL, Long.class);
+        return partitioned != null && partitioned > 0;
+    }
+
+    public List<LogPartition> findAll() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, row) -> partition(rs.getString(1), rs.getString(2))).stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(LogPartition::getFrom))
+                .collect(Collectors.toList());
+    }
+
+    public String create(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject(CREATE_SQL, String.class, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    @Transactional
+    public void drop(LogPartition partition) {
+        String table = quote(partition.getName());
+        jdbcTemplate.update(String.format(DELETE_ALERTS_SQL, table), Timestamp.valueOf(partition.getTo()));
+        jdbcTemplate.execute("alter table log detach partition " + table);
+        jdbcTemplate.execute("drop table " + table);
+    }
+
+    @Transactional
+    public Integer deleteBefore(LocalDateTime cutoff) {
+        return delete("log", cutoff);
+    }
+
+    @Transactional
+    public Integer deleteDefaultBefore(LocalDateTime cutoff) {
+        return delete(DEFAULT_PARTITION, cutoff);
+    }
+
+    private Integer delete(String table, LocalDateTime cutoff) {
+        jdbcTemplate.update(String.format(DELETE_ALERTS_SQL, table), Timestamp.valueOf(cutoff));
+        return jdbcTemplate.update(String.format(DELETE_LOGS_SQL, table), Timestamp.valueOf(cutoff));
+    }
+
+    private static LogPartition partition(String name, String bound) {
+        Matcher range = RANGE.matcher(bound);
+        if (!range.find()) return null;
+        return new LogPartition(name, timestamp(range.group(1)), timestamp(range.group(2)));
+    }
+
+    private static LocalDateTime timestamp(String value) {
+        return Timestamp.valueOf(value).toLocalDateTime();
+    }
+
+    private static String quote(String name) {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    private Boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+                postgres = POSTGRESQL.equals(JdbcUtils.commonDatabaseName(product));
+            } catch (MetaDataAccessException e) {
+                return false;
+            }
+        }
+        return postgres;
+    }
+
+}
@@ -1,45 +1,37 @@
 package br.com.codenation.logstackapi.repository;
 
 import br.com.codenation.logstackapi.model.entity.Log;
-import br.com.codenation.logstackapi.model.enums.LogEnvironment;
-import br.com.codenation.logstackapi.model.enums.LogLevel;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface LogRepository extends JpaRepository<Log, UUID> {
-
-    @Query("select l from Log l " +
-            "where (:title is null or lower(l.title) like %:title%) " +
-            "  and (:appName is null or lower(l.application.name) like %:appName%) " +
-            "  and (:host is null or lower(l.application.host) like %:host%) " +
-            "  and (:ip is null or lower(l.application.ip) like %:ip%) " +
-            "  and (:environment is null or l.application.environment like :environment) " +
-            "  and (:content is null or lower(l.detail.content) like %:content%)" +
-            "  and (:level is null or l.detail.level like :level) " +
-            "  and (l.detail.timestamp between :start and :end) " +
-            "  and (l.customer.user.id = :userId) " +
-            "  and (archived is false)")
-    Page<Log> find(@Param("title") String title,
-                   @Param("appName") String appName,
-                   @Param("host") String host,
-                   @Param("ip") String ip,
-                   @Param("environment") LogEnvironment environment,
-                   @Param("content") String content,
-                   @Param("level") LogLevel level,
-                   @Param("start") LocalDateTime startTimestamp,
-                   @Param("end") LocalDateTime endTimestamp,
-                   @Param("userId") UUID userId,
-                   Pageable pageable);
+public interface LogRepository extends JpaRepository<Log, UUID>, JpaSpecificationExecutor<Log>, LogSliceRepository {
 
     List<Log> findByCheckAlert(Boolean checkAlert);
 
+    List<Log> findByCustomerIdAndIdempotencyKeyIn(UUID customerId, Collection<String> idempotencyKeys);
+
+    List<Log> findByIdInAndDetailTimestampBetween(Collection<UUID> ids, LocalDateTime start, LocalDateTime end);
+
+    @Transactional
+    @Modifying
+    @Query("update Log l set l.occurrences = l.occurrences + :count, " +
+            "l.lastSeen = case when l.lastSeen is null or l.lastSeen < :lastSeen then :lastSeen else l.lastSeen end " +
+            "where l.id = :id and l.detail.timestamp between :from and :to")
+    Integer addOccurrences(@Param("id") UUID id,
+                           @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to,
+                           @Param("count") Integer count,
+                           @Param("lastSeen") LocalDateTime lastSeen);
+
 }
@@ -0,0 +1,12 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface LogSliceRepository {
+
+    Slice<Log> findSlice(Specification<Log> specification, Pageable pageable);
+
+}
@@ -0,0 +1,42 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public class LogSliceRepositoryImpl implements LogSliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Log> findSlice(Specification<Log> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Log> query = builder.createQuery(Log.class);
+        Root<Log> root = query.from(Log.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) query.where(predicate);
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        List<Log> logs = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        Boolean hasNext = logs.size() > pageable.getPageSize();
+        if (hasNext) logs = logs.subList(0, pageable.getPageSize());
+        return new SliceImpl<>(logs, pageable, hasNext);
+    }
+
+}
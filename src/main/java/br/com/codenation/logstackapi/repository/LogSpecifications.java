@@ -0,0 +1,91 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+public final class LogSpecifications {
+
+    public static final Sort SEEK_ORDER = Sort.by(Sort.Direction.DESC, "detail.timestamp", "id");
+
+    private LogSpecifications() {
+    }
+
+    public static Specification<Log> of(LogSearch search) {
+        return Specification.where(belongsTo(search))
+                .and(notArchived())
+                .and(between(search.getStartTimestamp(), search.getEndTimestamp()))
+                .and(contains(root -> root.get("title"), search.getTitle()))
+                .and(contains(root -> root.get("application").get("name"), search.getAppName()))
+                .and(contains(root -> root.get("application").get("host"), search.getHost()))
+                .and(contains(root -> root.get("application").get("ip"), search.getIp()))
+                .and(environment(search.getEnvironment()))
+                .and(level(search.getLevel()))
+                .and(content(search.getContent()));
+    }
+
+    public static Specification<Log> after(LogCursor cursor) {
+        if (cursor == null) return null;
+        return (root, query, builder) -> {
+            Path<LocalDateTime> timestamp = root.get("detail").get("timestamp");
+            return builder.and(
+                    builder.lessThanOrEqualTo(timestamp, cursor.getTimestamp()),
+                    builder.or(
+                            builder.lessThan(timestamp, cursor.getTimestamp()),
+                            builder.lessThan(root.get("id"), cursor.getId())));
+        };
+    }
+
+    private static Specification<Log> belongsTo(LogSearch search) {
+        if (search.getCustomerId() != null) {
+            return (root, query, builder) -> builder.equal(root.get("customer").get("id"), search.getCustomerId());
+        }
+        return (root, query, builder) -> builder.equal(root.get("customer").get("user").get("id"), search.getUser().getId());
+    }
+
+    private static Specification<Log> notArchived() {
+        return (root, query, builder) -> builder.isFalse(root.get("archived"));
+    }
+
+    private static Specification<Log> between(LocalDateTime start, LocalDateTime end) {
+        return (root, query, builder) -> builder.between(root.get("detail").get("timestamp"), start, end);
+    }
+
+    private static Specification<Log> environment(LogEnvironment environment) {
+        if (environment == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("application").get("environment"), environment);
+    }
+
+    private static Specification<Log> level(LogLevel level) {
+        if (level == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("detail").get("level"), level);
+    }
+
+    private static Specification<Log> contains(Function<Root<Log>, Path<String>> column, String value) {
+        if (value == null) return null;
+        return (root, query, builder) -> builder.like(builder.lower(column.apply(root)), like(value));
+    }
+
+    private static Specification<Log> content(String content) {
+        if (content == null) return null;
+        return (root, query, builder) -> builder.or(
+                builder.like(builder.lower(root.get("detail").get("content")), like(content)),
+                builder.like(root.get("detail").get("contentSearch"), like(LogContentCodec.searchTerms(content))));
+    }
+
+    private static String like(String value) {
+        return "%" + value.toLowerCase(Locale.ROOT) + "%";
+    }
+
+}
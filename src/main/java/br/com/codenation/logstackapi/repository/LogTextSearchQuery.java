@@ -0,0 +1,130 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.enums.LogSearchMatch;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Getter
+public class LogTextSearchQuery {
+
+    private static final String SEEK_ORDER = " order by l.\"timestamp\" desc, l.id desc";
+    private static final Map<String, String> SORT_COLUMNS = new HashMap<>();
+
+    static {
+        SORT_COLUMNS.put("id", "l.id");
+        SORT_COLUMNS.put("title", "l.title");
+        SORT_COLUMNS.put("detail.timestamp", "l.\"timestamp\"");
+        SORT_COLUMNS.put("detail.level", "l.\"level\"");
+        SORT_COLUMNS.put("lastSeen", "l.last_seen");
+    }
+
+    private final String sql;
+    private final String countSql;
+    private final String estimateSql;
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    private LogTextSearchQuery(LogSearch search, LogCursor after, Sort sort, Long offset, Integer limit) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "");
+        if (search.getCustomerId() != null) {
+            where.add("l.customer_id = :customerId");
+            parameters.put("customerId", search.getCustomerId());
+        } else {
+            where.add("c.user_id = :userId");
+            parameters.put("userId", search.getUser().getId());
+        }
+        where.add("l.archived = false");
+        where.add("l.\"timestamp\" between :start and :end");
+        parameters.put("start", Timestamp.valueOf(search.getStartTimestamp()));
+        parameters.put("end", Timestamp.valueOf(search.getEndTimestamp()));
+
+        contains(where, "title", "lower(l.title)", search.getTitle());
+        contains(where, "appName", "lower(a.name)", search.getAppName());
+        contains(where, "host", "lower(a.host)", search.getHost());
+        contains(where, "ip", "lower(a.ip)", search.getIp());
+        if (search.getEnvironment() != null) {
+            where.add("a.environment = :environment");
+            parameters.put("environment", search.getEnvironment().name());
+        }
+        if (search.getLevel() != null) {
+            where.add("l.\"level\" = :level");
+            parameters.put("level", search.getLevel().name());
+        }
+        if (search.getContent() != null) {
+            if (search.getMatch() == LogSearchMatch.WORDS) {
+                where.add("l.content_vector @@ plainto_tsquery('simple', :content)");
+                parameters.put("content", search.getContent());
+            } else {
+                where.add("(lower(l.\"content\") like :content or l.content_search like :contentTerms)");
+                parameters.put("content", like(search.getContent()));
+                parameters.put("contentTerms", like(LogContentCodec.searchTerms(search.getContent())));
+            }
+        }
+
+        if (after != null) {
+            where.add("(l.\"timestamp\", l.id) < (:afterTimestamp, :afterId)");
+            parameters.put("afterTimestamp", Timestamp.valueOf(after.getTimestamp()));
+            parameters.put("afterId", after.getId());
+        }
+
+        String from = " from log l";
+        if (search.getCustomerId() == null) from += " join customer c on c.id = l.customer_id";
+        if (search.getAppName() != null || search.getHost() != null || search.getIp() != null
+                || search.getEnvironment() != null) {
+            from += " join application a on a.id = l.application_id";
+        }
+        from += where;
+        this.countSql = "select count(*)" + from;
+        this.estimateSql = "explain (format json) select l.id" + from;
+        if (sort == null) {
+            this.sql = "select l.id" + from + SEEK_ORDER + " limit :limit";
+        } else {
+            this.sql = "select l.id" + from + orderBy(sort) + " limit :limit offset :offset";
+            parameters.put("offset", offset);
+        }
+        parameters.put("limit", limit);
+    }
+
+    public static LogTextSearchQuery of(LogSearch search, Pageable pageable) {
+        return new LogTextSearchQuery(search, null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    public static LogTextSearchQuery slice(LogSearch search, Pageable pageable) {
+        return new LogTextSearchQuery(search, null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+    }
+
+    public static LogTextSearchQuery seek(LogSearch search, LogCursor after, Integer limit) {
+        return new LogTextSearchQuery(search, after, null, null, limit);
+    }
+
+    public static Boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORT_COLUMNS.containsKey(order.getProperty()));
+    }
+
+    private void contains(StringJoiner where, String name, String column, String value) {
+        if (value == null) return;
+        where.add(column + " like :" + name);
+        parameters.put(name, like(value));
+    }
+
+    private static String like(String value) {
+        return "%" + value.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        sort.forEach(order -> orderBy.add(SORT_COLUMNS.get(order.getProperty()) + " " + order.getDirection().name()));
+        if (sort.getOrderFor("id") == null) orderBy.add("l.id");
+        return orderBy.toString();
+    }
+
+}
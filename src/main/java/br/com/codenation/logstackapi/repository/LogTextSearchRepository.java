@@ -0,0 +1,118 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Repository
+public class LogTextSearchRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LogRepository logRepository;
+    private final Boolean enabled;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public LogTextSearchRepository(DataSource dataSource,
+                                   LogRepository logRepository,
+                                   @Value("${app.search.text-index.enabled:true}") Boolean enabled) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.logRepository = logRepository;
+        this.enabled = enabled;
+    }
+
+    public Boolean supports(LogSearch search) {
+        if (!enabled || (search.getTitle() == null && search.getContent() == null)) return false;
+        return isPostgres();
+    }
+
+    public Boolean supports(LogSearch search, Pageable pageable) {
+        return LogTextSearchQuery.supports(pageable.getSort()) && supports(search);
+    }
+
+    public Page<Log> find(LogSearch search, Pageable pageable) {
+        LogTextSearchQuery query = LogTextSearchQuery.of(search, pageable);
+        Long total = jdbcTemplate.queryForObject(query.getCountSql(), query.getParameters(), Long.class);
+        if (total == null || total == 0) return new PageImpl<>(Collections.emptyList(), pageable, 0);
+
+        return new PageImpl<>(findAllById(findIds(query), search), pageable, total);
+    }
+
+    public Slice<Log> findSlice(LogSearch search, Pageable pageable) {
+        return slice(findIds(LogTextSearchQuery.slice(search, pageable)), search, pageable);
+    }
+
+    public Slice<Log> findSlice(LogSearch search, LogCursor after, Integer size) {
+        return slice(findIds(LogTextSearchQuery.seek(search, after, size + 1)), search, PageRequest.of(0, size));
+    }
+
+    public Optional<Long> estimate(LogSearch search) {
+        if (!isPostgres()) return Optional.empty();
+
+        LogTextSearchQuery query = LogTextSearchQuery.of(search, PageRequest.of(0, 1));
+        String plan = jdbcTemplate.queryForObject(query.getEstimateSql(), query.getParameters(), String.class);
+        Matcher rows = PLAN_ROWS.matcher(plan == null ? "" : plan);
+        return rows.find() ? Optional.of(Long.valueOf(rows.group(1))) : Optional.empty();
+    }
+
+    private Slice<Log> slice(List<UUID> ids, LogSearch search, Pageable pageable) {
+        Boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) ids = ids.subList(0, pageable.getPageSize());
+
+        return new SliceImpl<>(findAllById(ids, search), pageable, hasNext);
+    }
+
+    private List<UUID> findIds(LogTextSearchQuery query) {
+        return jdbcTemplate.query(query.getSql(), query.getParameters(), (rs, row) -> rs.getObject(1, UUID.class));
+    }
+
+    private List<Log> findAllById(List<UUID> ids, LogSearch search) {
+        if (ids.isEmpty()) return Collections.emptyList();
+        Map<UUID, Log> logs = logRepository.findByIdInAndDetailTimestampBetween(ids,
+                search.getStartTimestamp(), search.getEndTimestamp()).stream()
+                .collect(Collectors.toMap(Log::getId, Function.identity()));
+        return ids.stream().map(logs::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private Boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+                postgres = POSTGRESQL.equals(JdbcUtils.commonDatabaseName(product));
+            } catch (MetaDataAccessException e) {
+                return false;
+            }
+        }
+        return postgres;
+    }
+
+}
@@ -1,5 +1,7 @@
 package br.com.codenation.logstackapi.service;
 
+import br.com.codenation.logstackapi.cache.ApiKeyCache;
+import br.com.codenation.logstackapi.exception.ResourceNotFoundException;
 import br.com.codenation.logstackapi.model.entity.Customer;
 import br.com.codenation.logstackapi.model.entity.User;
 import br.com.codenation.logstackapi.repository.CustomerRepository;
@@ -16,17 +18,36 @@ import java.util.UUID;
 public class CustomerService {
 
     private CustomerRepository customerRepository;
+    private ApiKeyCache apiKeyCache;
 
     public List<Customer> findAll() {
         return customerRepository.findAll();
     }
 
+    public Optional<Customer> findById(UUID id) {
+        return customerRepository.findById(id);
+    }
+
     public Optional<Customer> findByUser(User user) {
         return customerRepository.findByUser(user);
     }
 
     public Optional<Customer> findByApiKey(UUID apiKey) {
-        return customerRepository.findByApiKey(apiKey);
+        return apiKeyCache.get(apiKey, customerRepository::findByApiKey);
+    }
+
+    public Customer rotateApiKey(User user) {
+        Customer customer = findByUser(user)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found for the authenticated user"));
+
+        UUID previousApiKey = customer.getApiKey();
+        customer.setApiKey(UUID.randomUUID());
+        customer.setUpdatedDate(LocalDateTime.now());
+        customer = customerRepository.save(customer);
+
+        apiKeyCache.invalidate(previousApiKey);
+        apiKeyCache.invalidate(customer.getApiKey());
+        return customer;
     }
 
     public Customer save(User user) {
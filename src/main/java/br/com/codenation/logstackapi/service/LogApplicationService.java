@@ -0,0 +1,44 @@
+package br.com.codenation.logstackapi.service;
+
+import br.com.codenation.logstackapi.cache.ApplicationCache;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.repository.LogApplicationRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+@AllArgsConstructor
+public class LogApplicationService {
+
+    private LogApplicationRepository applicationRepository;
+    private ApplicationCache applicationCache;
+
+    public LogApplication resolve(LogApplication application) {
+        if (application == null || application.getId() != null) return application;
+        return applicationCache.get(application, this::findOrCreate);
+    }
+
+    private LogApplication findOrCreate(LogApplication application) {
+        return find(application).orElseGet(() -> {
+            try {
+                return applicationRepository.save(LogApplication.builder()
+                        .name(application.getName())
+                        .host(application.getHost())
+                        .ip(application.getIp())
+                        .environment(application.getEnvironment())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                return find(application).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    private Optional<LogApplication> find(LogApplication application) {
+        return applicationRepository.findByNameAndHostAndIpAndEnvironment(
+                application.getName(), application.getHost(), application.getIp(), application.getEnvironment());
+    }
+
+}
@@ -1,29 +1,74 @@
 package br.com.codenation.logstackapi.service;
 
+import br.com.codenation.logstackapi.cache.LogCountCache;
 import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
 import br.com.codenation.logstackapi.exception.ResourceNotFoundException;
+import br.com.codenation.logstackapi.ingestion.IdempotentBatch;
+import br.com.codenation.logstackapi.ingestion.IngestMetrics;
+import br.com.codenation.logstackapi.ingestion.IngestRateLimiter;
+import br.com.codenation.logstackapi.ingestion.IngestStage;
+import br.com.codenation.logstackapi.ingestion.LogCollapse;
+import br.com.codenation.logstackapi.ingestion.LogContentCompressor;
+import br.com.codenation.logstackapi.ingestion.LogDeduplicator;
+import br.com.codenation.logstackapi.ingestion.LogIdempotencyIndex;
 import br.com.codenation.logstackapi.mappers.LogMapper;
 import br.com.codenation.logstackapi.model.entity.Customer;
 import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogBatchItem;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogKey;
 import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.enums.LogCountMode;
+import br.com.codenation.logstackapi.repository.LogBulkRepository;
 import br.com.codenation.logstackapi.repository.LogRepository;
+import br.com.codenation.logstackapi.repository.LogSpecifications;
+import br.com.codenation.logstackapi.repository.LogTextSearchRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class LogService {
 
+    public static final Integer MAX_BATCH_SIZE = 1000;
+
     private CustomerService customerService;
     private LogRepository logRepository;
+    private LogTextSearchRepository textSearchRepository;
+    private LogBulkRepository bulkRepository;
     private LogMapper mapper;
+    private Validator validator;
+    private IngestRateLimiter rateLimiter;
+    private LogDeduplicator deduplicator;
+    private LogIdempotencyIndex idempotencyIndex;
+    private LogApplicationService applicationService;
+    private LogContentCompressor contentCompressor;
+    private IngestMetrics metrics;
+    private LogCountCache countCache;
+    private TransactionTemplate transactionTemplate;
 
     public Log findById(UUID id) {
         return logRepository.findById(id)
@@ -49,15 +94,75 @@ public class LogService {
     }
 
     public Log add(UUID apiKey, LogRequestDTO dto) {
+        return insert(prepare(apiKey, dto));
+    }
 
-        Customer customer = customerService.findByApiKey(apiKey)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid API Key"));
+    public Log prepare(UUID apiKey, LogRequestDTO dto) {
+        Customer customer = admit(apiKey, 1);
+        return prepare(customer, dto);
+    }
+
+    public Log add(UUID apiKey, Log log) {
+        return insert(prepare(apiKey, log));
+    }
+
+    public Log prepare(UUID apiKey, Log log) {
+        return prepare(admit(apiKey, 1), log);
+    }
 
-        Log log = mapper.map(dto);
+    public Log prepare(Customer customer, LogRequestDTO dto) {
+        return prepare(customer, metrics.record(IngestStage.MAP, () -> mapper.map(dto)));
+    }
+
+    public Log prepare(Customer customer, Log log) {
         log.setCustomer(customer);
         log.setArchived(false);
         log.setCheckAlert(false);
-        return logRepository.save(log);
+        return log;
+    }
+
+    public List<LogBatchItem> addAll(UUID apiKey, List<LogRequestDTO> dtos) {
+
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one log");
+        }
+
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain at most " + MAX_BATCH_SIZE + " logs");
+        }
+
+        Customer customer = admit(apiKey, dtos.size());
+
+        List<LogBatchItem> items = new ArrayList<>(dtos.size());
+        List<Log> logs = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            LogRequestDTO dto = dtos.get(i);
+            List<String> errors = validate(dto);
+            LogBatchItem item = LogBatchItem.builder().index(i).errors(errors).build();
+            if (item.isAccepted()) {
+                Log log = prepare(customer, dto);
+                item.setLog(log);
+                logs.add(log);
+            }
+            items.add(item);
+        }
+
+        Iterator<Log> saved = saveAll(logs).iterator();
+        items.stream()
+                .filter(LogBatchItem::isAccepted)
+                .forEach(item -> item.setLog(saved.next()));
+
+        return items;
+    }
+
+    public List<Log> saveAll(List<Log> logs) {
+        if (logs.isEmpty()) return logs;
+        IdempotentBatch batch = idempotencyIndex.claim(logs);
+        List<Log> saved = metrics.record(IngestStage.PERSIST, () -> store(batch.getFresh()));
+        metrics.ingested(batch.getFresh());
+        countCache.invalidate(batch.getFresh());
+        idempotencyIndex.complete(saved);
+        return batch.resolve(saved, findAll(batch.getExistingKeys()));
     }
 
     public List<Log> findByCheckAlertNotVerified(Integer size) {
@@ -66,28 +171,183 @@ public class LogService {
     }
 
     public Page<Log> find(LogSearch search, Integer page, Integer size, Sort sort) {
+        return find(search, page, size, sort, LogCountMode.EXACT);
+    }
+
+    public Page<Log> find(LogSearch search, Integer page, Integer size, Sort sort, LogCountMode mode) {
 
         search.validationValues();
+        scope(search);
 
         PageRequest pageRequest = PageRequest.of(page, size, sort);
+        Boolean text = textSearchRepository.supports(search, pageRequest);
+
+        if (mode == LogCountMode.NONE) {
+            return page(findSlice(search, pageRequest, text), null);
+        }
+
+        if (mode == LogCountMode.ESTIMATE) {
+            Optional<Long> estimate = textSearchRepository.estimate(search);
+            if (estimate.isPresent()) return page(findSlice(search, pageRequest, text), estimate.get());
+        }
+
+        LogCountCache.Key key = countCache.key(search);
+        Long total = countCache.get(key);
+        if (total != null) return page(findSlice(search, pageRequest, text), total);
+
+        Page<Log> logs = text
+                ? textSearchRepository.find(search, pageRequest)
+                : logRepository.findAll(LogSpecifications.of(search), pageRequest);
+        countCache.put(key, logs.getTotalElements());
+        return logs;
+
+    }
+
+    public Slice<Log> findSlice(LogSearch search, LogCursor after, Integer size) {
+
+        search.validationValues();
+        scope(search);
+
+        if (textSearchRepository.supports(search)) {
+            return textSearchRepository.findSlice(search, after, size);
+        }
 
-        return logRepository.find(
-                search.getTitle(),
-                search.getAppName(),
-                search.getHost(),
-                search.getIp(),
-                search.getEnvironment(),
-                search.getContent(),
-                search.getLevel(),
-                search.getStartTimestamp(),
-                search.getEndTimestamp(),
-                search.getUser().getId(),
-                pageRequest);
+        return logRepository.findSlice(LogSpecifications.of(search).and(LogSpecifications.after(after)),
+                PageRequest.of(0, size, LogSpecifications.SEEK_ORDER));
 
     }
 
+    public Customer findCustomerByApiKey(UUID apiKey) {
+        return metrics.record(IngestStage.CUSTOMER, () -> customerService.findByApiKey(apiKey))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid API Key"));
+    }
+
+    public Customer admit(UUID apiKey, Integer permits) {
+        Customer customer = findCustomerByApiKey(apiKey);
+        rateLimiter.acquire(customer, permits);
+        return customer;
+    }
+
+    public List<String> validate(LogRequestDTO dto) {
+        if (dto == null) return Collections.singletonList("log: must not be null");
+        return metrics.record(IngestStage.VALIDATE, () -> validator.validate(dto)).stream()
+                .map(this::formatViolation)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void scope(LogSearch search) {
+        if (search.getCustomerId() != null) return;
+        customerService.findByUser(search.getUser()).ifPresent(customer -> search.setCustomerId(customer.getId()));
+    }
+
+    private Slice<Log> findSlice(LogSearch search, PageRequest pageRequest, Boolean text) {
+        if (text) return textSearchRepository.findSlice(search, pageRequest);
+        return logRepository.findSlice(LogSpecifications.of(search), pageRequest);
+    }
+
+    private Page<Log> page(Slice<Log> slice, Long total) {
+        Long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) total = seen;
+        else total = Math.max(total == null ? 0 : total, seen + 1);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
     private Log save(Log log) {
-        return logRepository.save(log);
+        Log saved = logRepository.save(log);
+        countCache.invalidate(Collections.singletonList(log));
+        return saved;
+    }
+
+    private List<Log> store(List<Log> logs) {
+        if (logs.isEmpty()) return logs;
+        logs.forEach(log -> log.setApplication(applicationService.resolve(log.getApplication())));
+        try {
+            return transactionTemplate.execute(status -> persist(logs));
+        } catch (DataIntegrityViolationException e) {
+            Map<Log, Log> replays = findReplays(logs);
+            if (replays.isEmpty()) throw e;
+            idempotencyIndex.recovered(replays.size());
+
+            List<Log> remaining = logs.stream().filter(log -> !replays.containsKey(log)).collect(Collectors.toList());
+            remaining.forEach(log -> log.setId(null));
+            replays.forEach((log, existing) -> log.setId(existing.getId()));
+            Iterator<Log> saved = transactionTemplate.execute(status -> persist(remaining)).iterator();
+            return logs.stream()
+                    .map(log -> replays.containsKey(log) ? replays.get(log) : saved.next())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Log> persist(List<Log> logs) {
+        if (logs.isEmpty()) return logs;
+        if (!deduplicator.isEnabled()) return insertAll(logs);
+
+        LogCollapse collapse = deduplicator.collapse(logs);
+        for (Log repeat : collapse.getRepeats()) {
+            LogKey existing = collapse.getExisting(repeat);
+            if (logRepository.addOccurrences(existing.getId(), existing.getFrom(), existing.getTo(),
+                    repeat.getOccurrences(), repeat.getLastSeen()) == 0) {
+                collapse.reinsert(repeat);
+            }
+        }
+        insertAll(collapse.getInserts());
+        deduplicator.complete(collapse);
+        return collapse.resolve(findAll(collapse.getExistingKeys()));
+    }
+
+    private List<Log> insertAll(List<Log> logs) {
+        contentCompressor.compress(logs);
+        return write(logs);
+    }
+
+    private List<Log> write(List<Log> logs) {
+        if (logs.isEmpty()) return logs;
+        if (bulkRepository.isEnabled()) return bulkRepository.insertAll(logs);
+        return logRepository.saveAll(logs);
+    }
+
+    private Map<Log, Log> findReplays(List<Log> logs) {
+        Map<Log, Log> replays = new IdentityHashMap<>();
+        logs.stream()
+                .filter(log -> log.getIdempotencyKey() != null)
+                .collect(Collectors.groupingBy(log -> log.getCustomer().getId()))
+                .forEach((customerId, keyed) -> {
+                    Map<String, Log> existing = logRepository.findByCustomerIdAndIdempotencyKeyIn(customerId,
+                            keyed.stream().map(Log::getIdempotencyKey).collect(Collectors.toSet())).stream()
+                            .collect(Collectors.toMap(Log::getIdempotencyKey, Function.identity()));
+                    keyed.stream()
+                            .filter(log -> existing.containsKey(log.getIdempotencyKey()))
+                            .forEach(log -> replays.put(log, existing.get(log.getIdempotencyKey())));
+                });
+        return replays;
+    }
+
+    private Map<UUID, Log> findAll(List<LogKey> keys) {
+        if (keys.isEmpty()) return Collections.emptyMap();
+        Set<UUID> ids = keys.stream().map(LogKey::getId).collect(Collectors.toSet());
+        LocalDateTime from = keys.stream().map(LogKey::getFrom).min(Comparator.naturalOrder()).get();
+        LocalDateTime to = keys.stream().map(LogKey::getTo).max(Comparator.naturalOrder()).get();
+        return logRepository.findByIdInAndDetailTimestampBetween(ids, from, to).stream()
+                .collect(Collectors.toMap(Log::getId, Function.identity()));
+    }
+
+    private Log insert(Log log) {
+        if (deduplicator.isEnabled() || log.getIdempotencyKey() != null) {
+            return saveAll(Collections.singletonList(log)).get(0);
+        }
+        Log saved = metrics.record(IngestStage.PERSIST, () -> {
+            log.setApplication(applicationService.resolve(log.getApplication()));
+            contentCompressor.compress(log);
+            return logRepository.save(log);
+        });
+        metrics.ingested(Collections.singletonList(log));
+        countCache.invalidate(Collections.singletonList(log));
+        return saved;
+    }
+
+    private String formatViolation(ConstraintViolation<LogRequestDTO> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
     }
 
 }
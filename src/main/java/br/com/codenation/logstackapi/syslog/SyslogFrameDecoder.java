@@ -0,0 +1,84 @@
+package br.com.codenation.logstackapi.syslog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SyslogFrameDecoder {
+
+    private static final Integer MAX_LENGTH_DIGITS = 9;
+
+    private final Integer maxFrameBytes;
+
+    private byte[] frame = new byte[1024];
+    private int length;
+    private int expected = -1;
+    private boolean octetCounting;
+
+    public SyslogFrameDecoder(Integer maxFrameBytes) {
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    public List<String> decode(ByteBuffer buffer) {
+        List<String> frames = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            if (length == 0 && expected < 0 && !octetCounting) {
+                if (b == '\n' || b == '\r' || b == 0) continue;
+                octetCounting = b >= '0' && b <= '9';
+            }
+
+            if (octetCounting && expected < 0) {
+                if (b == ' ') {
+                    expected = Integer.parseInt(new String(frame, 0, length, StandardCharsets.US_ASCII));
+                    length = 0;
+                    if (expected == 0) reset();
+                } else if (b >= '0' && b <= '9' && length < MAX_LENGTH_DIGITS) {
+                    append(b);
+                } else {
+                    octetCounting = false;
+                    append(b);
+                }
+                continue;
+            }
+
+            if (octetCounting) {
+                append(b);
+                if (--expected == 0) emit(frames);
+                continue;
+            }
+
+            if (b == '\n') {
+                emit(frames);
+            } else {
+                append(b);
+            }
+        }
+        return frames;
+    }
+
+    private void append(byte b) {
+        if (length == maxFrameBytes) return;
+        if (length == frame.length) {
+            frame = Arrays.copyOf(frame, Math.min(frame.length * 2, maxFrameBytes));
+        }
+        frame[length++] = b;
+    }
+
+    private void emit(List<String> frames) {
+        if (length > 0) {
+            frames.add(new String(frame, 0, length, StandardCharsets.UTF_8));
+        }
+        reset();
+    }
+
+    private void reset() {
+        length = 0;
+        expected = -1;
+        octetCounting = false;
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.codenation.logstackapi.syslog;
+
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyslogMessage {
+
+    private Integer facility;
+    private Integer severity;
+    private LocalDateTime timestamp;
+    private String hostname;
+    private String appName;
+    private String message;
+
+    public LogLevel getLevel() {
+        return LogLevel.fromSyslogSeverity(severity);
+    }
+
+}
@@ -0,0 +1,209 @@
+package br.com.codenation.logstackapi.syslog;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.Locale;
+
+public class SyslogParser {
+
+    private static final Integer DEFAULT_PRIORITY = 13;
+    private static final String NIL = "-";
+    private static final char BOM = '\uFEFF';
+
+    private static final DateTimeFormatter RFC3164_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("MMM ppd HH:mm:ss")
+            .toFormatter(Locale.ENGLISH);
+
+    private final ZoneId zone;
+
+    public SyslogParser(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public SyslogMessage parse(String raw, String sourceHost) {
+        Cursor cursor = new Cursor(trimTrailingNewlines(raw));
+        Integer priority = cursor.priority();
+        if (priority == null) priority = DEFAULT_PRIORITY;
+
+        SyslogMessage message = cursor.isRfc5424() ? parseRfc5424(cursor) : parseRfc3164(cursor);
+        message.setFacility(priority / 8);
+        message.setSeverity(priority % 8);
+        if (message.getTimestamp() == null) message.setTimestamp(LocalDateTime.now(zone));
+        if (message.getHostname() == null) message.setHostname(sourceHost);
+        return message;
+    }
+
+    private SyslogMessage parseRfc5424(Cursor cursor) {
+        cursor.token();
+        String timestamp = cursor.token();
+        String hostname = cursor.token();
+        String appName = cursor.token();
+        cursor.token();
+        cursor.token();
+        cursor.structuredData();
+
+        String text = cursor.rest();
+        if (!text.isEmpty() && text.charAt(0) == BOM) text = text.substring(1);
+
+        return SyslogMessage.builder()
+                .timestamp(parseRfc5424Timestamp(timestamp))
+                .hostname(nil(hostname))
+                .appName(nil(appName))
+                .message(text)
+                .build();
+    }
+
+    private SyslogMessage parseRfc3164(Cursor cursor) {
+        LocalDateTime timestamp = parseRfc3164Timestamp(cursor);
+        String hostname = null;
+        if (timestamp != null) {
+            hostname = cursor.token();
+        }
+
+        String text = cursor.rest();
+        String appName = null;
+        int colon = text.indexOf(':');
+        if (colon > 0 && colon <= 48 && text.substring(0, colon).indexOf(' ') < 0) {
+            appName = text.substring(0, colon);
+            int pid = appName.indexOf('[');
+            if (pid > 0) appName = appName.substring(0, pid);
+            text = text.substring(colon + 1).trim();
+        }
+
+        return SyslogMessage.builder()
+                .timestamp(timestamp)
+                .hostname(nil(hostname))
+                .appName(appName)
+                .message(text)
+                .build();
+    }
+
+    private LocalDateTime parseRfc5424Timestamp(String value) {
+        if (value == null || NIL.equals(value)) return null;
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(zone).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private LocalDateTime parseRfc3164Timestamp(Cursor cursor) {
+        String candidate = cursor.peek(15);
+        if (candidate == null) return null;
+        try {
+            LocalDateTime now = LocalDateTime.now(zone);
+            LocalDateTime timestamp = RFC3164_TIMESTAMP.parse(candidate)
+                    .query(temporal -> LocalDateTime.of(now.getYear(),
+                            temporal.get(ChronoField.MONTH_OF_YEAR),
+                            temporal.get(ChronoField.DAY_OF_MONTH),
+                            temporal.get(ChronoField.HOUR_OF_DAY),
+                            temporal.get(ChronoField.MINUTE_OF_HOUR),
+                            temporal.get(ChronoField.SECOND_OF_MINUTE)));
+            cursor.skip(15);
+            return timestamp.isAfter(now.plusDays(1)) ? timestamp.minusYears(1) : timestamp;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private String nil(String value) {
+        return value == null || NIL.equals(value) || value.isEmpty() ? null : value;
+    }
+
+    private String trimTrailingNewlines(String raw) {
+        int end = raw.length();
+        while (end > 0 && (raw.charAt(end - 1) == '\n' || raw.charAt(end - 1) == '\r' || raw.charAt(end - 1) == 0)) {
+            end--;
+        }
+        return raw.substring(0, end);
+    }
+
+    private static class Cursor {
+
+        private final String value;
+        private int position;
+
+        Cursor(String value) {
+            this.value = value;
+        }
+
+        Integer priority() {
+            if (position >= value.length() || value.charAt(position) != '<') return null;
+            int end = value.indexOf('>', position);
+            if (end < 2 || end > 4) return null;
+            try {
+                int priority = Integer.parseInt(value.substring(position + 1, end));
+                if (priority > 191) return null;
+                position = end + 1;
+                return priority;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        boolean isRfc5424() {
+            return position + 1 < value.length()
+                    && Character.isDigit(value.charAt(position))
+                    && value.charAt(position + 1) == ' ';
+        }
+
+        String token() {
+            skipSpaces();
+            if (position >= value.length()) return null;
+            int end = value.indexOf(' ', position);
+            if (end < 0) end = value.length();
+            String token = value.substring(position, end);
+            position = end;
+            return token;
+        }
+
+        void structuredData() {
+            skipSpaces();
+            if (position >= value.length()) return;
+            if (value.charAt(position) != '[') {
+                token();
+                return;
+            }
+            boolean escaped = false;
+            boolean quoted = false;
+            while (position < value.length()) {
+                char c = value.charAt(position++);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ']' && !quoted) {
+                    if (position >= value.length() || value.charAt(position) != '[') return;
+                }
+            }
+        }
+
+        String peek(int length) {
+            skipSpaces();
+            if (position + length > value.length()) return null;
+            return value.substring(position, position + length);
+        }
+
+        void skip(int length) {
+            position += length;
+        }
+
+        String rest() {
+            if (position < value.length() && value.charAt(position) == ' ') position++;
+            return position >= value.length() ? "" : value.substring(position);
+        }
+
+        private void skipSpaces() {
+            while (position < value.length() && value.charAt(position) == ' ') position++;
+        }
+
+    }
+
+}
@@ -0,0 +1,287 @@
+package br.com.codenation.logstackapi.syslog;
+
+import br.com.codenation.logstackapi.ingestion.LogBatchWriter;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.LogDetail;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class SyslogServer {
+
+    private static final Integer MAX_DATAGRAM_BYTES = 65535;
+    private static final Integer MAX_TITLE_LENGTH = 120;
+    private static final Integer MAX_CONTENT_LENGTH = 5000;
+    private static final Integer MAX_APPLICATION_LENGTH = 255;
+    private static final Long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+    private static final String DEFAULT_APP_NAME = "syslog";
+
+    private final LogService logService;
+    private final SyslogParser parser = new SyslogParser(ZoneId.systemDefault());
+    private final Boolean enabled;
+    private final String bindAddress;
+    private final Listener udp;
+    private final Listener tcp;
+    private final LogEnvironment environment;
+    private final Integer batchSize;
+    private final Long flushIntervalMillis;
+    private final Integer maxFrameBytes;
+
+    private final Counter malformed;
+    private final Counter dropped;
+
+    private Selector selector;
+    private DatagramChannel udpChannel;
+    private ServerSocketChannel tcpChannel;
+    private LogBatchWriter writer;
+    private Thread selectorThread;
+    private volatile Boolean running = false;
+
+    @Autowired
+    public SyslogServer(LogService logService,
+                        MeterRegistry registry,
+                        @Value("${app.syslog.enabled:false}") Boolean enabled,
+                        @Value("${app.syslog.bind-address:0.0.0.0}") String bindAddress,
+                        @Value("${app.syslog.udp.port:5514}") Integer udpPort,
+                        @Value("${app.syslog.udp.api-key:}") String udpApiKey,
+                        @Value("${app.syslog.tcp.port:5514}") Integer tcpPort,
+                        @Value("${app.syslog.tcp.api-key:}") String tcpApiKey,
+                        @Value("${app.syslog.environment:PRODUCTION}") LogEnvironment environment,
+                        @Value("${app.syslog.batch-size:500}") Integer batchSize,
+                        @Value("${app.syslog.flush-interval-ms:200}") Long flushIntervalMillis,
+                        @Value("${app.syslog.max-frame-bytes:65536}") Integer maxFrameBytes) {
+        this.logService = logService;
+        this.enabled = enabled;
+        this.bindAddress = bindAddress;
+        this.udp = new Listener("udp", udpPort, udpApiKey, registry);
+        this.tcp = new Listener("tcp", tcpPort, tcpApiKey, registry);
+        this.environment = environment;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxFrameBytes = maxFrameBytes;
+
+        this.malformed = Counter.builder("logstack.syslog.malformed")
+                .description("Syslog messages that could not be parsed")
+                .register(registry);
+        this.dropped = Counter.builder("logstack.syslog.dropped")
+                .description("Syslog messages dropped because the writer could not keep up or the database rejected them")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+
+        selector = Selector.open();
+        if (udp.isEnabled()) {
+            udpChannel = DatagramChannel.open();
+            udpChannel.bind(new InetSocketAddress(bindAddress, udp.port));
+            udpChannel.configureBlocking(false);
+            udpChannel.register(selector, SelectionKey.OP_READ);
+            log.info("Syslog UDP listener bound to {}", udpChannel.getLocalAddress());
+        }
+        if (tcp.isEnabled()) {
+            tcpChannel = ServerSocketChannel.open();
+            tcpChannel.bind(new InetSocketAddress(bindAddress, tcp.port));
+            tcpChannel.configureBlocking(false);
+            tcpChannel.register(selector, SelectionKey.OP_ACCEPT);
+            log.info("Syslog TCP listener bound to {}", tcpChannel.getLocalAddress());
+        }
+
+        writer = new LogBatchWriter(logService, "syslog-writer", batchSize, dropped);
+
+        running = true;
+        selectorThread = new Thread(this::select, "syslog-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (selector == null) return;
+
+        running = false;
+        selector.wakeup();
+        selectorThread.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+
+        writer.stop();
+    }
+
+    public Integer getUdpPort() throws IOException {
+        return udpChannel == null ? null : ((InetSocketAddress) udpChannel.getLocalAddress()).getPort();
+    }
+
+    public Integer getTcpPort() throws IOException {
+        return tcpChannel == null ? null : ((InetSocketAddress) tcpChannel.getLocalAddress()).getPort();
+    }
+
+    private void select() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_BYTES);
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+
+        while (running) {
+            try {
+                selector.select(flushIntervalMillis);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.channel() == udpChannel) {
+                        receive(buffer);
+                    } else {
+                        read(key, buffer);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Syslog listener failed", e);
+            }
+
+            if (System.currentTimeMillis() >= nextFlush) {
+                writer.flush();
+                nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = tcpChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new SyslogFrameDecoder(maxFrameBytes));
+    }
+
+    private void receive(ByteBuffer buffer) throws IOException {
+        SocketAddress source;
+        while (true) {
+            buffer.clear();
+            source = udpChannel.receive(buffer);
+            if (source == null) return;
+            buffer.flip();
+            accept(udp, StandardCharsets.UTF_8.decode(buffer).toString(), source);
+        }
+    }
+
+    private void read(SelectionKey key, ByteBuffer buffer) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        SyslogFrameDecoder decoder = (SyslogFrameDecoder) key.attachment();
+        try {
+            buffer.clear();
+            int read = channel.read(buffer);
+            if (read < 0) {
+                key.cancel();
+                channel.close();
+                return;
+            }
+            buffer.flip();
+            SocketAddress source = channel.getRemoteAddress();
+            for (String frame : decoder.decode(buffer)) {
+                accept(tcp, frame, source);
+            }
+        } catch (IOException e) {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void accept(Listener listener, String frame, SocketAddress source) {
+        String ip = source instanceof InetSocketAddress
+                ? ((InetSocketAddress) source).getAddress().getHostAddress()
+                : String.valueOf(source);
+        try {
+            SyslogMessage message = parser.parse(frame, ip);
+            writer.add(listener.apiKey, toLog(message, ip));
+            listener.received.increment();
+        } catch (RuntimeException e) {
+            malformed.increment();
+        }
+    }
+
+    private Log toLog(SyslogMessage message, String ip) {
+        String text = message.getMessage();
+        String firstLine = text.split("\n", 2)[0];
+
+        LogApplication application = LogApplication.builder()
+                .name(truncate(message.getAppName() == null ? DEFAULT_APP_NAME : message.getAppName(), MAX_APPLICATION_LENGTH))
+                .host(truncate(message.getHostname(), MAX_APPLICATION_LENGTH))
+                .ip(ip)
+                .environment(environment)
+                .build();
+
+        LogDetail detail = LogDetail.builder()
+                .timestamp(message.getTimestamp())
+                .level(message.getLevel())
+                .content(truncate(text, MAX_CONTENT_LENGTH))
+                .build();
+
+        return Log.builder()
+                .title(truncate(firstLine.isEmpty() ? application.getName() : firstLine, MAX_TITLE_LENGTH))
+                .application(application)
+                .detail(detail)
+                .archived(false)
+                .checkAlert(false)
+                .build();
+    }
+
+    private String truncate(String value, Integer max) {
+        return value.length() > max ? value.substring(0, max) : value;
+    }
+
+    private static class Listener {
+
+        private final Integer port;
+        private final UUID apiKey;
+        private final Counter received;
+
+        Listener(String transport, Integer port, String apiKey, MeterRegistry registry) {
+            this.port = port;
+            this.apiKey = apiKey == null || apiKey.trim().isEmpty() ? null : UUID.fromString(apiKey.trim());
+            this.received = Counter.builder("logstack.syslog.received")
+                    .tag("transport", transport)
+                    .description("Syslog messages received")
+                    .register(registry);
+        }
+
+        boolean isEnabled() {
+            return apiKey != null && port >= 0;
+        }
+
+    }
+
+}
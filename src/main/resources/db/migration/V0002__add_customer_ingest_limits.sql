@@ -0,0 +1,2 @@
+ALTER TABLE customer ADD COLUMN ingest_rate double precision NULL;
+ALTER TABLE customer ADD COLUMN ingest_burst integer NULL;
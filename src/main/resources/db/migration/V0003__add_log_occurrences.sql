@@ -0,0 +1,3 @@
+ALTER TABLE log ADD COLUMN occurrences integer NOT NULL DEFAULT 1;
+ALTER TABLE log ADD COLUMN last_seen timestamp NULL;
+UPDATE log SET last_seen = "timestamp";
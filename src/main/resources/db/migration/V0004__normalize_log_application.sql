@@ -0,0 +1,31 @@
+CREATE TABLE application (
+	id bigserial NOT NULL,
+	name varchar(255) NOT NULL,
+	host varchar(255) NOT NULL,
+	ip varchar(255) NOT NULL,
+	environment varchar(255) NULL,
+	CONSTRAINT application_pkey PRIMARY KEY (id),
+	CONSTRAINT application_tuple_key UNIQUE (name, host, ip, environment)
+);
+
+INSERT INTO application (name, host, ip, environment)
+SELECT DISTINCT app_name, app_host, app_ip, app_environment FROM log;
+
+ALTER TABLE log ADD COLUMN application_id bigint NULL;
+
+UPDATE log SET application_id = (
+	SELECT a.id FROM application a
+	WHERE a.name = log.app_name
+	  AND a.host = log.app_host
+	  AND a.ip = log.app_ip
+	  AND (a.environment = log.app_environment OR (a.environment IS NULL AND log.app_environment IS NULL))
+);
+
+ALTER TABLE log ALTER COLUMN application_id SET NOT NULL;
+ALTER TABLE log ADD CONSTRAINT log_application_fkey FOREIGN KEY (application_id) REFERENCES application(id);
+CREATE INDEX log_application_id_idx ON log (application_id);
+
+ALTER TABLE log DROP COLUMN app_name;
+ALTER TABLE log DROP COLUMN app_host;
+ALTER TABLE log DROP COLUMN app_ip;
+ALTER TABLE log DROP COLUMN app_environment;
@@ -0,0 +1,3 @@
+ALTER TABLE log ALTER COLUMN "content" DROP NOT NULL;
+ALTER TABLE log ADD COLUMN content_compressed bytea NULL;
+ALTER TABLE log ADD COLUMN content_search varchar(5000) NULL;
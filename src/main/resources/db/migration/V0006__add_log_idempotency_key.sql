@@ -0,0 +1,2 @@
+ALTER TABLE log ADD COLUMN idempotency_key varchar(128) NULL;
+ALTER TABLE log ADD CONSTRAINT log_idempotency_key UNIQUE (customer_id, idempotency_key);
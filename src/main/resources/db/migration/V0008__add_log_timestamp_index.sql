@@ -0,0 +1 @@
+CREATE INDEX log_timestamp_id_idx ON log ("timestamp", id);
@@ -0,0 +1,5 @@
+UPDATE customer SET ingest_rate = NULL WHERE ingest_rate <= 0;
+UPDATE customer SET ingest_burst = NULL WHERE ingest_burst <= 0;
+
+ALTER TABLE customer ADD CONSTRAINT customer_ingest_rate_check CHECK (ingest_rate > 0);
+ALTER TABLE customer ADD CONSTRAINT customer_ingest_burst_check CHECK (ingest_burst > 0);
@@ -0,0 +1,109 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.generator.TimeOrderedUuid;
+import br.com.codenation.logstackapi.repository.LogBulkWriter;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LogBulkLoadBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1000;
+    private static final String SCHEMA = "log_benchmark";
+
+    @Param({"single", "batch", "copy"})
+    private String mode;
+
+    private Flyway flyway;
+    private Connection connection;
+    private List<Log> logs;
+
+    @Setup
+    public void setup() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        String user = System.getProperty("benchmark.jdbc.user", "sa");
+        String password = System.getProperty("benchmark.jdbc.password", "");
+
+        flyway = Flyway.configure().dataSource(url, user, password).schemas(SCHEMA).load();
+        flyway.clean();
+        flyway.migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setSchema(SCHEMA);
+        if (mode.equals("copy") && !LogBulkWriter.supportsCopy(connection)) {
+            throw new IllegalStateException("COPY requires PostgreSQL, set -Dbenchmark.jdbc.url");
+        }
+
+        Customer customer = Customer.builder().id(UUID.randomUUID()).build();
+        LogApplication application = LogApplication.builder().id(1L).build();
+        try (Statement statement = connection.createStatement()) {
+            UUID userId = UUID.randomUUID();
+            statement.execute("INSERT INTO users (id, email, full_name, password) VALUES ('" + userId + "', 'bench@logstack', 'Bench', 'x')");
+            statement.execute("INSERT INTO customer (id, api_key, created_date, updated_date, user_id) VALUES ('"
+                    + customer.getId() + "', '" + UUID.randomUUID() + "', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, '" + userId + "')");
+            statement.execute("INSERT INTO application (id, name, host, ip, environment) VALUES (1, 'logstack-api', 'localhost', '127.0.0.1', 'PRODUCTION')");
+        }
+
+        logs = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            logs.add(Log.builder()
+                    .title("Null pointer exception")
+                    .archived(false)
+                    .checkAlert(false)
+                    .occurrences(1)
+                    .lastSeen(LocalDateTime.now())
+                    .customer(customer)
+                    .application(application)
+                    .detail(LogDetailBuilder.detalhe().build())
+                    .build());
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        flyway.clean();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void insert() throws SQLException, IOException {
+        logs.forEach(log -> log.setId(TimeOrderedUuid.generate()));
+        switch (mode) {
+            case "single":
+                for (Log log : logs) {
+                    LogBulkWriter.batch(connection, Collections.singletonList(log), 1);
+                }
+                break;
+            case "batch":
+                LogBulkWriter.batch(connection, logs, ROWS_PER_INVOCATION);
+                break;
+            default:
+                LogBulkWriter.copy(connection, logs);
+        }
+        connection.commit();
+    }
+
+}
@@ -0,0 +1,42 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogContentBenchmark {
+
+    private String content;
+    private byte[] compressed;
+
+    @Setup
+    public void setup() {
+        content = LogDetailBuilder.STACK_TRACE;
+        compressed = LogContentCodec.compress(content);
+
+        int raw = content.getBytes(StandardCharsets.UTF_8).length;
+        int index = LogContentCodec.index(content).length();
+        System.out.printf("raw=%d compressed=%d index=%d stored=%.1f%%%n",
+                raw, compressed.length, index, 100.0 * (compressed.length + index) / raw);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return LogContentCodec.compress(content);
+    }
+
+    @Benchmark
+    public String decompress() {
+        return LogContentCodec.decompress(compressed);
+    }
+
+}
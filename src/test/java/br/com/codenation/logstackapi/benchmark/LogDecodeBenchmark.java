@@ -0,0 +1,90 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.ingestion.IngestMetrics;
+import br.com.codenation.logstackapi.ingestion.LogCodec;
+import br.com.codenation.logstackapi.mappers.LogMapper;
+import br.com.codenation.logstackapi.mappers.LogMapperImpl;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogDecodeBenchmark {
+
+    private ObjectReader jsonReader;
+    private ObjectReader cborReader;
+    private Validator validator;
+    private LogMapper mapper;
+    private LogCodec codec;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+        LogRequestDTO log = LogRequestDTOBuilder.umLog().build();
+        json = jsonMapper.writeValueAsBytes(log);
+        cbor = cborMapper.writeValueAsBytes(log);
+
+        jsonReader = jsonMapper.readerFor(LogRequestDTO.class);
+        cborReader = cborMapper.readerFor(LogRequestDTO.class);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        mapper = new LogMapperImpl();
+        codec = new LogCodec(new IngestMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public LogRequestDTO json() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public LogRequestDTO cbor() throws IOException {
+        return cborReader.readValue(cbor);
+    }
+
+    @Benchmark
+    public Log jsonDatabind() throws IOException {
+        LogRequestDTO dto = jsonReader.readValue(json);
+        if (!validator.validate(dto).isEmpty()) throw new IllegalStateException("invalid log");
+        return mapper.map(dto);
+    }
+
+    @Benchmark
+    public Log jsonStreaming() throws IOException {
+        List<LogViolation> violations = new ArrayList<>(0);
+        Log log = codec.decode(new ByteArrayInputStream(json), false, violations);
+        if (!violations.isEmpty()) throw new IllegalStateException("invalid log");
+        return log;
+    }
+
+    @Benchmark
+    public Log cborStreaming() throws IOException {
+        List<LogViolation> violations = new ArrayList<>(0);
+        Log log = codec.decode(new ByteArrayInputStream(cbor), true, violations);
+        if (!violations.isEmpty()) throw new IllegalStateException("invalid log");
+        return log;
+    }
+
+}
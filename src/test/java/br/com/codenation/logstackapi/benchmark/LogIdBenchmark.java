@@ -0,0 +1,79 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.model.generator.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 30)
+@Fork(1)
+public class LogIdBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1000;
+
+    @Param({"random", "timeOrdered"})
+    private String keys;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:ids;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.jdbc.user", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_log");
+            statement.execute("CREATE TABLE bench_log (id UUID PRIMARY KEY, title VARCHAR(120))");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("INSERT INTO bench_log (id, title) VALUES (?, ?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            report(statement, "SELECT count(*) FROM bench_log", "rows");
+            if (connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                report(statement, "SELECT pg_relation_size('bench_log_pkey')", "index bytes");
+            }
+            statement.execute("DROP TABLE bench_log");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void insert() throws SQLException {
+        boolean timeOrdered = keys.equals("timeOrdered");
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            insert.setObject(1, timeOrdered ? TimeOrderedUuid.generate() : UUID.randomUUID());
+            insert.setString(2, "Null pointer exception");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private void report(Statement statement, String sql, String label) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            System.out.println("# " + keys + " " + label + ": " + result.getLong(1));
+        }
+    }
+
+}
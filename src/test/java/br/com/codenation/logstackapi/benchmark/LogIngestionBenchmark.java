@@ -0,0 +1,66 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.LogStackApplication;
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.repository.CustomerRepository;
+import br.com.codenation.logstackapi.service.LogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LogIngestionBenchmark {
+
+    private static final int LOGS_PER_INVOCATION = 100;
+
+    private ConfigurableApplicationContext context;
+    private LogService logService;
+    private UUID apiKey;
+    private List<LogRequestDTO> logs;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(LogStackApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test", "--app.ingestion.rate-limit.enabled=false");
+        logService = context.getBean(LogService.class);
+        apiKey = context.getBean(CustomerRepository.class).findAll().get(0).getApiKey();
+
+        logs = new ArrayList<>(LOGS_PER_INVOCATION);
+        for (int i = 0; i < LOGS_PER_INVOCATION; i++) {
+            logs.add(LogRequestDTOBuilder.umLog().build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOGS_PER_INVOCATION)
+    public void singleLogPath() {
+        for (LogRequestDTO log : logs) {
+            logService.add(apiKey, log);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOGS_PER_INVOCATION)
+    public Object batchPath() {
+        return logService.addAll(apiKey, logs);
+    }
+
+}
@@ -0,0 +1,167 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.generator.TimeOrderedUuid;
+import br.com.codenation.logstackapi.repository.LogBulkWriter;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LogPaginationBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String SCHEMA = "log_benchmark";
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2019, 9, 30, 12, 0);
+
+    private static final String FROM = "FROM log l JOIN customer c ON c.id = l.customer_id " +
+            "WHERE l.\"timestamp\" BETWEEN ? AND ? AND c.user_id = ? AND l.archived = false ";
+    private static final String OFFSET_SQL = "SELECT l.id, l.title, l.\"timestamp\" " + FROM +
+            "ORDER BY l.\"timestamp\" DESC, l.id DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL = "SELECT count(*) " + FROM;
+    private static final String KEYSET_SQL = "SELECT l.id, l.title, l.\"timestamp\" " + FROM +
+            "AND l.\"timestamp\" <= ? AND (l.\"timestamp\" < ? OR l.id < ?) " +
+            "ORDER BY l.\"timestamp\" DESC, l.id DESC LIMIT ?";
+
+    @Param({"1", "100", "1000"})
+    private int page;
+
+    @Param({"offset", "keyset"})
+    private String mode;
+
+    private Flyway flyway;
+    private Connection connection;
+    private UUID userId;
+    private Timestamp afterTimestamp;
+    private UUID afterId;
+
+    @Setup
+    public void setup() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:pagination;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=0");
+        String user = System.getProperty("benchmark.jdbc.user", "sa");
+        String password = System.getProperty("benchmark.jdbc.password", "");
+
+        flyway = Flyway.configure().dataSource(url, user, password).schemas(SCHEMA).load();
+        flyway.clean();
+        flyway.migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setSchema(SCHEMA);
+
+        userId = UUID.randomUUID();
+        Customer customer = Customer.builder().id(UUID.randomUUID()).build();
+        LogApplication application = LogApplication.builder().id(1L).build();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, email, full_name, password) VALUES ('" + userId + "', 'bench@logstack', 'Bench', 'x')");
+            statement.execute("INSERT INTO customer (id, api_key, created_date, updated_date, user_id) VALUES ('"
+                    + customer.getId() + "', '" + UUID.randomUUID() + "', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, '" + userId + "')");
+            statement.execute("INSERT INTO application (id, name, host, ip, environment) VALUES (1, 'logstack-api', 'localhost', '127.0.0.1', 'PRODUCTION')");
+        }
+
+        List<Log> logs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Log log = Log.builder()
+                    .id(TimeOrderedUuid.generate())
+                    .title("Null pointer exception")
+                    .archived(false)
+                    .checkAlert(false)
+                    .occurrences(1)
+                    .customer(customer)
+                    .application(application)
+                    .detail(LogDetailBuilder.detalhe().build())
+                    .build();
+            log.getDetail().setTimestamp(NEWEST.minusSeconds(i / 2));
+            log.setLastSeen(log.getDetail().getTimestamp());
+            logs.add(log);
+        }
+        LogBulkWriter.batch(connection, logs, 1000);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        if (page > 1) {
+            try (PreparedStatement statement = connection.prepareStatement(OFFSET_SQL)) {
+                bindFilter(statement);
+                statement.setInt(4, 1);
+                statement.setInt(5, (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) throw new IllegalStateException("Page " + page + " is past the last log");
+                    afterId = rs.getObject(1, UUID.class);
+                    afterTimestamp = rs.getTimestamp(3);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        flyway.clean();
+    }
+
+    @Benchmark
+    public void fetchPage(Blackhole blackhole) throws SQLException {
+        if (mode.equals("offset")) {
+            try (PreparedStatement statement = connection.prepareStatement(OFFSET_SQL)) {
+                bindFilter(statement);
+                statement.setInt(4, PAGE_SIZE);
+                statement.setInt(5, (page - 1) * PAGE_SIZE);
+                consume(statement, blackhole);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(COUNT_SQL)) {
+                bindFilter(statement);
+                consume(statement, blackhole);
+            }
+        } else {
+            String sql = page > 1 ? KEYSET_SQL : OFFSET_SQL.replace(" OFFSET ?", "");
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bindFilter(statement);
+                int index = 4;
+                if (page > 1) {
+                    statement.setTimestamp(index++, afterTimestamp);
+                    statement.setTimestamp(index++, afterTimestamp);
+                    statement.setObject(index++, afterId);
+                }
+                statement.setInt(index, PAGE_SIZE + 1);
+                consume(statement, blackhole);
+            }
+        }
+    }
+
+    private void bindFilter(PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, Timestamp.valueOf(NEWEST.minusDays(30)));
+        statement.setTimestamp(2, Timestamp.valueOf(NEWEST));
+        statement.setObject(3, userId);
+    }
+
+    private void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getObject(1));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package br.com.codenation.logstackapi.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class LogTimelineBenchmark {
+
+    private static final String SCHEMA = "log_timeline";
+    private static final String TIMELINE_INDEXES = "db/vendor/postgresql/V0009__add_log_timeline_indexes.sql";
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2019, 9, 30, 12, 0);
+
+    private static final String SEED_TENANTS = "INSERT INTO users (id, email, full_name, \"password\") " +
+            "SELECT md5('user' || t)::uuid, 'tenant' || t || '@logstack', 'Tenant ' || t, 'x' FROM generate_series(0, 99) t; " +
+            "INSERT INTO customer (id, api_key, created_date, updated_date, user_id) " +
+            "SELECT md5('customer' || t)::uuid, md5('key' || t)::uuid, now(), now(), md5('user' || t)::uuid FROM generate_series(0, 99) t; " +
+            "INSERT INTO application (id, name, host, ip, environment) " +
+            "SELECT a, 'app-' || a, 'host-' || a, '10.0.0.' || a, (ARRAY['PRODUCTION', 'TEST', 'DEVELOPMENT'])[1 + a % 3] " +
+            "FROM generate_series(1, 30) a";
+    private static final String SEED_LOGS = "INSERT INTO log (id, title, \"content\", \"level\", \"timestamp\", archived, " +
+            "check_alert, occurrences, last_seen, customer_id, application_id) " +
+            "SELECT md5(i::text)::uuid, 'Request ' || i % 1000, 'GET /orders/' || i, " +
+            "(ARRAY['DEBUG', 'INFO', 'WARNING', 'ERROR', 'FATAL'])[1 + i % 5], t, i % 20 = 0, false, 1, t, " +
+            "md5('customer' || CASE WHEN i % 2 = 0 THEN 0 WHEN i % 1000 = 1 THEN 1 ELSE 2 + i % 98 END)::uuid, 1 + i % 30 " +
+            "FROM (SELECT i, ?::timestamp - i * INTERVAL '250 milliseconds' AS t FROM generate_series(1, ?) i) s";
+
+    private static final String FILTER = "l.archived = false AND l.\"timestamp\" BETWEEN ? AND ? ";
+    private static final String ORDER = "ORDER BY l.\"timestamp\" DESC, l.id DESC LIMIT 21";
+    private static final String USER_JOIN_SQL = "SELECT l.id, l.title, l.\"timestamp\" FROM log l " +
+            "JOIN customer c ON c.id = l.customer_id WHERE c.user_id = ? AND " + FILTER;
+    private static final String CUSTOMER_SQL = "SELECT l.id, l.title, l.\"timestamp\" FROM log l " +
+            "WHERE l.customer_id = ? AND " + FILTER;
+
+    @Param({"before", "after"})
+    private String index;
+
+    @Param({"large", "small"})
+    private String tenant;
+
+    @Param({"none", "level"})
+    private String filter;
+
+    private Connection connection;
+    private String sql;
+    private UUID scope;
+
+    @Setup
+    public void setup() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/logstack");
+        String user = System.getProperty("benchmark.jdbc.user", "postgres");
+        String password = System.getProperty("benchmark.jdbc.password", "postgres");
+        Long rows = Long.getLong("benchmark.rows", 10_000_000L);
+
+        connection = DriverManager.getConnection(url, user, password);
+        if (!seeded(rows)) {
+            Flyway flyway = Flyway.configure().dataSource(url, user, password).schemas(SCHEMA).target("8").load();
+            flyway.clean();
+            flyway.migrate();
+            connection.setSchema(SCHEMA);
+            seed(rows);
+        }
+        connection.setSchema(SCHEMA);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX IF EXISTS log_customer_timeline_idx, log_customer_level_timeline_idx, " +
+                    "application_environment_idx, customer_user_id_idx");
+            if (index.equals("after")) ScriptUtils.executeSqlScript(connection, new ClassPathResource(TIMELINE_INDEXES));
+            statement.execute("ANALYZE");
+        }
+
+        Integer customer = tenant.equals("large") ? 0 : 1;
+        if (index.equals("after")) {
+            sql = CUSTOMER_SQL;
+            scope = md5Uuid("customer" + customer);
+        } else {
+            sql = USER_JOIN_SQL;
+            scope = md5Uuid("user" + customer);
+        }
+        if (filter.equals("level")) sql += "AND l.\"level\" = 'INFO' ";
+        sql += ORDER;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void firstPage(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, scope);
+            statement.setTimestamp(2, Timestamp.valueOf(NEWEST.minusDays(30)));
+            statement.setTimestamp(3, Timestamp.valueOf(NEWEST));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getObject(1));
+                }
+            }
+        }
+    }
+
+    private UUID md5Uuid(String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT md5(?)::uuid")) {
+            statement.setString(1, value);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    private Boolean seeded(Long rows) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + SCHEMA + ".log")) {
+            return rs.next() && rs.getLong(1) == rows;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void seed(Long rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET session_replication_role = replica");
+            statement.execute(SEED_TENANTS);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(SEED_LOGS)) {
+            statement.setTimestamp(1, Timestamp.valueOf(NEWEST));
+            statement.setLong(2, rows);
+            statement.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET session_replication_role = DEFAULT");
+            statement.execute("VACUUM ANALYZE log");
+        }
+    }
+
+}
@@ -26,6 +26,12 @@ public class CustomerBuilder {
         return this;
     }
 
+    public CustomerBuilder comLimiteDeIngestao(Double rate, Integer burst) {
+        customer.setIngestRate(rate);
+        customer.setIngestBurst(burst);
+        return this;
+    }
+
     public Customer build() {
         return customer;
     }
@@ -1,5 +1,6 @@
 package br.com.codenation.logstackapi.builders;
 
+import br.com.codenation.logstackapi.model.entity.Customer;
 import br.com.codenation.logstackapi.model.entity.Log;
 import br.com.codenation.logstackapi.model.entity.LogApplication;
 import br.com.codenation.logstackapi.model.entity.LogDetail;
@@ -31,6 +32,16 @@ public class LogBuilder {
         return this;
     }
 
+    public LogBuilder titulo(String title) {
+        log.setTitle(title);
+        return this;
+    }
+
+    public LogBuilder cliente(Customer customer) {
+        log.setCustomer(customer);
+        return this;
+    }
+
     public LogBuilder checkAlert(Boolean checkAlert) {
         log.setCheckAlert(checkAlert);
         return this;
@@ -7,6 +7,39 @@ import java.time.LocalDateTime;
 
 public class LogDetailBuilder {
 
+    public static final String STACK_TRACE = "java.lang.NullPointerException: customer must not be null\n"
+            + "\tat br.com.codenation.logstackapi.service.LogService.prepare(LogService.java:84)\n"
+            + "\tat br.com.codenation.logstackapi.service.LogService.add(LogService.java:64)\n"
+            + "\tat br.com.codenation.logstackapi.controller.LogController.save(LogController.java:236)\n"
+            + "\tat sun.reflect.NativeMethodAccessorImpl.invoke0(Native Method)\n"
+            + "\tat sun.reflect.NativeMethodAccessorImpl.invoke(NativeMethodAccessorImpl.java:62)\n"
+            + "\tat sun.reflect.DelegatingMethodAccessorImpl.invoke(DelegatingMethodAccessorImpl.java:43)\n"
+            + "\tat java.lang.reflect.Method.invoke(Method.java:498)\n"
+            + "\tat org.springframework.web.method.support.InvocableHandlerMethod.doInvoke(InvocableHandlerMethod.java:190)\n"
+            + "\tat org.springframework.web.method.support.InvocableHandlerMethod.invokeForRequest(InvocableHandlerMethod.java:138)\n"
+            + "\tat org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod.invokeAndHandle(ServletInvocableHandlerMethod.java:104)\n"
+            + "\tat org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter.invokeHandlerMethod(RequestMappingHandlerAdapter.java:892)\n"
+            + "\tat org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter.handleInternal(RequestMappingHandlerAdapter.java:797)\n"
+            + "\tat org.springframework.web.servlet.mvc.method.AbstractHandlerMethodAdapter.handle(AbstractHandlerMethodAdapter.java:87)\n"
+            + "\tat org.springframework.web.servlet.DispatcherServlet.doDispatch(DispatcherServlet.java:1039)\n"
+            + "\tat org.springframework.web.servlet.DispatcherServlet.doService(DispatcherServlet.java:942)\n"
+            + "\tat org.springframework.web.servlet.FrameworkServlet.processRequest(FrameworkServlet.java:1005)\n"
+            + "\tat org.springframework.web.servlet.FrameworkServlet.doPost(FrameworkServlet.java:908)\n"
+            + "\tat javax.servlet.http.HttpServlet.service(HttpServlet.java:660)\n"
+            + "\tat org.springframework.web.servlet.FrameworkServlet.service(FrameworkServlet.java:882)\n"
+            + "\tat javax.servlet.http.HttpServlet.service(HttpServlet.java:741)\n"
+            + "\tat org.apache.catalina.core.ApplicationFilterChain.internalDoFilter(ApplicationFilterChain.java:231)\n"
+            + "\tat org.apache.catalina.core.ApplicationFilterChain.doFilter(ApplicationFilterChain.java:166)\n"
+            + "\tat org.springframework.web.filter.OncePerRequestFilter.doFilter(OncePerRequestFilter.java:118)\n"
+            + "\tat org.apache.catalina.core.ApplicationFilterChain.internalDoFilter(ApplicationFilterChain.java:193)\n"
+            + "\tat org.apache.catalina.core.ApplicationFilterChain.doFilter(ApplicationFilterChain.java:166)\n"
+            + "\tat org.apache.catalina.core.StandardWrapperValve.invoke(StandardWrapperValve.java:200)\n"
+            + "\tat org.apache.catalina.core.StandardContextValve.invoke(StandardContextValve.java:96)\n"
+            + "\tat org.apache.tomcat.util.net.SocketProcessorBase.run(SocketProcessorBase.java:49)\n"
+            + "\tat java.util.concurrent.ThreadPoolExecutor.runWorker(ThreadPoolExecutor.java:1149)\n"
+            + "\tat java.util.concurrent.ThreadPoolExecutor$Worker.run(ThreadPoolExecutor.java:624)\n"
+            + "\tat java.lang.Thread.run(Thread.java:748)\n";
+
     private LogDetail logDetail;
 
     private LogDetailBuilder() {
@@ -37,6 +70,11 @@ public class LogDetailBuilder {
         return this;
     }
 
+    public LogDetailBuilder comStackTrace() {
+        logDetail.setContent(STACK_TRACE);
+        return this;
+    }
+
     public LogDetail build() {
         return logDetail;
     }
@@ -33,6 +33,11 @@ public class LogRequestDTOBuilder {
         return builder;
     }
 
+    public LogRequestDTOBuilder comChaveIdempotencia(String idempotencyKey) {
+        log.setIdempotencyKey(idempotencyKey);
+        return this;
+    }
+
     public LogRequestDTO build() {
         return log;
     }
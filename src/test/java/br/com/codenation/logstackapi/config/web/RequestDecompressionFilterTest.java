@@ -0,0 +1,91 @@
+package br.com.codenation.logstackapi.config.web;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RequestDecompressionFilterTest {
+
+    private static final String BODY = "{\"title\":\"Request\"}";
+
+    private final RequestDecompressionFilter filter = new RequestDecompressionFilter(1048576L);
+
+    @Test
+    public void dadoCorpoSemCompressao_quandoFiltrar_entaoDeveRepassarARequisicaoOriginal() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/logs");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest(), sameInstance(request));
+    }
+
+    @Test
+    public void dadoCorpoGzip_quandoLerComReadListener_entaoDeveEntregarOCorpoDescomprimido() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/logs");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip(BODY));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        boolean[] allDataRead = {false};
+
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                ServletInputStream in = request.getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        byte[] buffer = new byte[4];
+                        int read;
+                        while (in.isReady() && (read = in.read(buffer)) != -1) {
+                            body.write(buffer, 0, read);
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        allDataRead[0] = true;
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new IllegalStateException(t);
+                    }
+                });
+                super.doFilter(request, response);
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest(), instanceOf(DecompressedRequestWrapper.class));
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8), equalTo(BODY));
+        assertThat(allDataRead[0], equalTo(true));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -19,9 +19,11 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -72,6 +74,29 @@ public class CustomerControllerTest {
                 .andExpect(status().is(401));
     }
 
+    @Test
+    public void dadoUsuarioAutenticado_quandoGerarNovaChaveDeApi_entaoDeveRetornarNovaChave() throws Exception {
+
+        String apiKeyAnterior = parser.parseMap(mvc.perform(get(URI + "/self")
+                .header("Authorization", token))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()).get("apiKey").toString();
+
+        ResultActions perform = mvc.perform(put(URI + "/self/api-key")
+                .header("Authorization", token))
+                .andExpect(status().isOk());
+
+        perform.andExpect(jsonPath("$.apiKey", not(is(apiKeyAnterior))));
+        perform.andExpect(jsonPath("$.user.email", is("admin@admin.com")));
+    }
+
+    @Test
+    public void dadoUsuarioNaoAutenticado_quandoGerarNovaChaveDeApi_entaoDeveRetornarErro() throws Exception {
+
+        mvc.perform(put(URI + "/self/api-key"))
+                .andExpect(status().is(401));
+    }
 
     private String generateToken() throws Exception {
 
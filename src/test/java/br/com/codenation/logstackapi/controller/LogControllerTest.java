@@ -6,12 +6,17 @@ import br.com.codenation.logstackapi.builders.LogBuilder;
 import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
 import br.com.codenation.logstackapi.builders.UserBuilder;
 import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.ingestion.LogIngestionBuffer;
 import br.com.codenation.logstackapi.mappers.LogMapper;
 import br.com.codenation.logstackapi.model.entity.Customer;
 import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
 import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
 import br.com.codenation.logstackapi.repository.CustomerRepository;
 import br.com.codenation.logstackapi.repository.LogRepository;
+import br.com.codenation.logstackapi.repository.LogSpecifications;
 import br.com.codenation.logstackapi.service.LogService;
 import br.com.codenation.logstackapi.service.SecurityService;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -28,7 +33,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -39,18 +48,26 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToCborBytes;
 import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToJsonBytes;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -72,6 +89,9 @@ public class LogControllerTest {
     @MockBean
     private LogRepository logRepository;
 
+    @MockBean
+    private LogIngestionBuffer ingestionBuffer;
+
     @Autowired
     private LogMapper mapper;
 
@@ -135,7 +155,7 @@ public class LogControllerTest {
         log.setArchived(false);
         log.setCheckAlert(false);
 
-        Mockito.when(logRepository.save(log)).thenReturn(log);
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenAnswer(invocation -> invocation.getArgument(0));
         Mockito.when(customerRepository.save(customer)).thenReturn(customer);
         Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
 
@@ -150,6 +170,345 @@ public class LogControllerTest {
         logSalvo.andExpect(jsonPath("$.application.name", is(log.getApplication().getName())));
     }
 
+    @Test
+    public void dadoLogSemNivel_quandoSalvarLog_EntaoDeveRetornarErroDeValidacao() throws Exception {
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+
+        mvc.perform(post(URI)
+                .param("apiKey", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(semNivel)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Validation error")))
+                .andExpect(jsonPath("$.subErrors[0].field", is("level")));
+
+        mvc.perform(post(URI)
+                .param("apiKey", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content("{\"title\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Malformed JSON request")));
+    }
+
+    @Test
+    public void dadoIngestaoAssincrona_quandoSalvarLog_EntaoDeveRetornarAceito() throws Exception {
+        LogRequestDTO logRequestDTO = LogRequestDTOBuilder.umLog().build();
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(ingestionBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(logRequestDTO)))
+                .andExpect(status().isAccepted());
+
+        Mockito.verify(ingestionBuffer).offer(Mockito.any(Log.class));
+        Mockito.verify(logRepository, Mockito.never()).save(Mockito.any(Log.class));
+    }
+
+    @Test
+    public void dadoFilaDeIngestaoCheia_quandoSalvarLog_EntaoDeveRetornarMuitasRequisicoes() throws Exception {
+        LogRequestDTO logRequestDTO = LogRequestDTOBuilder.umLog().build();
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(ingestionBuffer.isEnabled()).thenReturn(true);
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.doThrow(new TooManyRequestsException("Ingestion queue is full", 1L))
+                .when(ingestionBuffer).offer(Mockito.any(Log.class));
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(logRequestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    public void dadoLoteDeLogs_quandoSalvarLote_EntaoDeveRetornarResultadoPorItem() throws Exception {
+        LogRequestDTO valido = LogRequestDTOBuilder.umLog().build();
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        ResultActions lote = mvc.perform(post(URI + "/batch")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(Arrays.asList(valido, semNivel))))
+                .andExpect(status().isOk());
+
+        lote.andExpect(jsonPath("$.accepted", is(1)));
+        lote.andExpect(jsonPath("$.rejected", is(1)));
+        lote.andExpect(jsonPath("$.items[0].accepted", is(true)));
+        lote.andExpect(jsonPath("$.items[1].accepted", is(false)));
+        lote.andExpect(jsonPath("$.items[1].errors[0]", is("level: must not be null")));
+    }
+
+    @Test
+    public void dadoConteudoMaiorQueAColuna_quandoSalvarLogOuLote_EntaoDeveRejeitarAntesDeGravar() throws Exception {
+        LogRequestDTO longo = LogRequestDTOBuilder.umLog().build();
+        longo.setContent(String.join("", Collections.nCopies(5001, "a")));
+        Customer customer = CustomerBuilder.codenation().build();
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(longo)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.subErrors[0].field", is("content")));
+
+        mvc.perform(post(URI + "/batch")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(Collections.singletonList(longo))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.items[0].errors[0]", is("content: size must be between 0 and 5000")));
+        Mockito.verify(logRepository, Mockito.never()).saveAll(anyList());
+    }
+
+    @Test
+    public void dadoChaveDeIdempotenciaSemEspacoParaOIndice_quandoSalvarLote_EntaoDeveRetornarErro() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+
+        mvc.perform(post(URI + "/batch")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .header("Idempotency-Key", String.join("", Collections.nCopies(125, "a")))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(Collections.singletonList(LogRequestDTOBuilder.umLog().build()))))
+                .andExpect(status().isBadRequest());
+        Mockito.verify(logRepository, Mockito.never()).saveAll(anyList());
+    }
+
+    @Test
+    public void dadoLoteComApiKeyInvalida_quandoSalvarLote_EntaoDeveRetornarErro() throws Exception {
+        mvc.perform(post(URI + "/batch")
+                .param("apiKey", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(Arrays.asList(LogRequestDTOBuilder.umLog().build()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void dadoFluxoNdjson_quandoSalvarFluxo_EntaoDeveRetornarResumo() throws Exception {
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        String body = new String(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build())) + "\n"
+                + new String(convertObjectToJsonBytes(semNivel)) + "\n";
+
+        ResultActions fluxo = mvc.perform(post(URI + "/stream")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk());
+
+        fluxo.andExpect(jsonPath("$.accepted", is(1)));
+        fluxo.andExpect(jsonPath("$.rejected", is(1)));
+        fluxo.andExpect(jsonPath("$.errors[0]", is("line 2: level: must not be null")));
+    }
+
+    @Test
+    public void dadoFluxoComApiKeyInvalida_quandoSalvarFluxo_EntaoDeveRetornarErro() throws Exception {
+        mvc.perform(post(URI + "/stream")
+                .param("apiKey", UUID.randomUUID().toString())
+                .contentType("application/x-ndjson")
+                .content(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void dadoLoteCompactadoComGzip_quandoSalvarLote_EntaoDeveDescompactar() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        byte[] body = convertObjectToJsonBytes(Arrays.asList(LogRequestDTOBuilder.umLog().build(), LogRequestDTOBuilder.umLog().build()));
+
+        mvc.perform(post(URI + "/batch")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(gzip(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2)));
+    }
+
+    @Test
+    public void dadoFluxoCompactadoComDeflate_quandoSalvarFluxo_EntaoDeveDescompactar() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        byte[] linha = convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(body)) {
+            out.write(linha);
+            out.write('\n');
+            out.write(linha);
+        }
+
+        mvc.perform(post(URI + "/stream")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .header(HttpHeaders.CONTENT_ENCODING, "deflate")
+                .contentType("application/x-ndjson")
+                .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2)));
+    }
+
+    @Test
+    public void dadoFluxoQueExcedeLimiteAposDescompactar_quandoSalvarFluxo_EntaoDeveAceitarTodasAsLinhas() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        LogRequestDTO dto = LogRequestDTOBuilder.umLog().build();
+        dto.setContent(String.join("", Collections.nCopies(4000, "a")));
+        byte[] linha = convertObjectToJsonBytes(dto);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < 300; i++) {
+            body.write(linha);
+            body.write('\n');
+        }
+
+        mvc.perform(post(URI + "/stream")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType("application/x-ndjson")
+                .content(gzip(body.toByteArray())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(300)));
+    }
+
+    @Test
+    public void dadoCorpoQueExcedeLimiteAposDescompactar_quandoSalvarLog_EntaoDeveRetornarPayloadTooLarge() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+
+        LogRequestDTO bomba = LogRequestDTOBuilder.umLog().build();
+        bomba.setContent(new String(new char[2 * 1024 * 1024]).replace('\0', 'a'));
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(gzip(convertObjectToJsonBytes(bomba))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    public void dadoCodificacaoNaoSuportada_quandoSalvarLog_EntaoDeveRetornarUnsupportedMediaType() throws Exception {
+        mvc.perform(post(URI)
+                .param("apiKey", UUID.randomUUID().toString())
+                .header(HttpHeaders.CONTENT_ENCODING, "br")
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(header().string(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+    }
+
+    @Test
+    public void dadoLogEmCbor_quandoSalvarLog_EntaoDeveRetornarLogCriado() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+        Log log = LogBuilder.umLog().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenReturn(log);
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType("application/cbor")
+                .content(convertObjectToCborBytes(LogRequestDTOBuilder.umLog().build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(log.getId().toString())));
+    }
+
+    @Test
+    public void dadoLoteEmCbor_quandoSalvarLote_EntaoDeveRetornarResultadoPorItem() throws Exception {
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        ResultActions lote = mvc.perform(post(URI + "/batch")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType("application/cbor")
+                .content(convertObjectToCborBytes(Arrays.asList(LogRequestDTOBuilder.umLog().build(), semNivel))))
+                .andExpect(status().isOk());
+
+        lote.andExpect(jsonPath("$.accepted", is(1)));
+        lote.andExpect(jsonPath("$.rejected", is(1)));
+    }
+
+    @Test
+    public void dadoMensagemGelf_quandoSalvarGelf_EntaoDeveAceitarEGravarLog() throws Exception {
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenAnswer(i -> i.getArgument(0));
+
+        mvc.perform(post(URI + "/gelf")
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content("{\"version\":\"1.1\",\"host\":\"web01\",\"short_message\":\"boom\",\"level\":2,\"_app\":\"checkout\"}"))
+                .andExpect(status().isAccepted());
+
+        Mockito.verify(logRepository).save(Mockito.argThat((Log log) ->
+                log.getTitle().equals("boom")
+                        && log.getCustomer() == customer
+                        && log.getDetail().getLevel() == LogLevel.FATAL
+                        && log.getApplication().getName().equals("checkout")));
+    }
+
+    @Test
+    public void dadoMensagemGelfSemShortMessage_quandoSalvarGelf_EntaoDeveRetornarErro() throws Exception {
+        mvc.perform(post(URI + "/gelf")
+                .param("apiKey", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content("{\"version\":\"1.1\",\"host\":\"web01\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void dadoClienteAcimaDoLimite_quandoSalvarLog_EntaoDeveRetornarTooManyRequests() throws Exception {
+        Customer customer = CustomerBuilder.codenation().comLimiteDeIngestao(0.1, 1).build();
+        Log log = LogBuilder.umLog().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenReturn(log);
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build())))
+                .andExpect(status().isOk());
+
+        mvc.perform(post(URI)
+                .param("apiKey", String.valueOf(customer.getApiKey()))
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build())))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+    }
+
     @Test
     public void dadoLogExistente_quandoBuscarPorId_EntaoDeveRetornarLog() throws Exception {
         Log log = LogBuilder.umLog().emDesenvolvimento().comLevelDebug().arquivado().build();
@@ -230,17 +589,7 @@ public class LogControllerTest {
 
         PageRequest pageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "detail.timestamp"));
         Mockito.when(securityService.getUserAuthenticated()).thenReturn(user);
-        Mockito.when(logRepository.find(null
-                , null
-                , null
-                ,null
-                ,null
-                ,null
-                , null
-                , LocalDateTime.of(LocalDate.parse("2019-09-01"), LocalTime.of(0, 0, 0))
-                , LocalDateTime.of(LocalDate.parse("2019-09-30"), LocalTime.of(23, 59, 59))
-                ,user.getId()
-                , pageRequest)).thenReturn(page);
+        Mockito.when(logRepository.findAll(anySpecification(), eq(pageRequest))).thenReturn(page);
 
         ResultActions pageResponse = mvc.perform(get(URI)
                 .header("Authorization", token))
@@ -250,12 +599,119 @@ public class LogControllerTest {
         pageResponse.andExpect(jsonPath("$.content[1].id", is(doisLog.getId().toString())));
     }
 
+    @Test
+    public void dadoListaDeLogs_quandoBuscarPorCursor_EntaoDeveRetornarProximoCursorSemContar() throws Exception {
+        Log umLog = LogBuilder.umLog().build();
+        Log doisLog = LogBuilder.umLog().naoArquivado().comLevelError().build();
+        User user = UserBuilder.codenation().build();
+
+        Mockito.when(securityService.getUserAuthenticated()).thenReturn(user);
+        Mockito.when(logRepository.findSlice(anySpecification(), eq(PageRequest.of(0, 2, LogSpecifications.SEEK_ORDER))))
+                .thenReturn(new SliceImpl<>(Arrays.asList(umLog, doisLog), PageRequest.of(0, 2), true))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 2), false));
+
+        mvc.perform(get(URI)
+                .param("cursor", "")
+                .param("size", "2")
+                .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(umLog.getId().toString())))
+                .andExpect(jsonPath("$.content[1].id", is(doisLog.getId().toString())))
+                .andExpect(jsonPath("$.next", is(LogCursor.after(doisLog).encode())));
+
+        mvc.perform(get(URI)
+                .param("cursor", LogCursor.after(doisLog).encode())
+                .param("size", "2")
+                .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        Mockito.verify(logRepository, Mockito.never()).findAll(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    public void dadoContagemDesligada_quandoBuscarTodosOsLogs_EntaoNaoDeveContar() throws Exception {
+        Log umLog = LogBuilder.umLog().build();
+        Log doisLog = LogBuilder.umLog().naoArquivado().comLevelError().build();
+        User user = UserBuilder.codenation().build();
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "detail.timestamp"));
+
+        Mockito.when(securityService.getUserAuthenticated()).thenReturn(user);
+        Mockito.when(logRepository.findSlice(anySpecification(), eq(pageRequest)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(umLog, doisLog), pageRequest, true));
+
+        mvc.perform(get(URI)
+                .param("size", "2")
+                .param("count", "NONE")
+                .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements", is(3)));
+
+        Mockito.verify(logRepository, Mockito.never()).findAll(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    public void dadoContagemEmCache_quandoBuscarNovamente_EntaoDeveReaproveitarTotalAteNovoLog() throws Exception {
+        Log umLog = LogBuilder.umLog().build();
+        User user = UserBuilder.codenation().build();
+        Customer customer = CustomerBuilder.codenation().build();
+        customer.setUser(user);
+        PageRequest pageRequest = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "detail.timestamp"));
+
+        Mockito.when(securityService.getUserAuthenticated()).thenReturn(user);
+        Mockito.when(logRepository.findAll(anySpecification(), eq(pageRequest)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(umLog), pageRequest, 40));
+        Mockito.when(logRepository.findSlice(anySpecification(), eq(pageRequest)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(umLog), pageRequest, true));
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get(URI)
+                    .param("size", "1")
+                    .header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements", is(40)));
+        }
+        Mockito.verify(logRepository, Mockito.times(1)).findAll(anySpecification(), any(Pageable.class));
+
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenAnswer(i -> i.getArgument(0));
+        Mockito.when(logRepository.findById(umLog.getId())).thenReturn(Optional.of(umLog));
+        umLog.setCustomer(customer);
+        logService.archive(umLog.getId());
+
+        mvc.perform(get(URI)
+                .param("size", "1")
+                .header("Authorization", token))
+                .andExpect(status().isOk());
+        Mockito.verify(logRepository, Mockito.times(2)).findAll(anySpecification(), any(Pageable.class));
+    }
+
+    @Test
+    public void dadoCursorInvalido_quandoBuscarPorCursor_EntaoDeveRetornarErro() throws Exception {
+        Mockito.when(securityService.getUserAuthenticated()).thenReturn(UserBuilder.codenation().build());
+
+        mvc.perform(get(URI)
+                .param("cursor", "nao-e-um-cursor")
+                .header("Authorization", token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid cursor")));
+    }
+
     @Test
     public void dadoListaDeLogs_quandoBuscarTodosOsLogsSemAutenticacao_EntaoDeveRetornarErro() throws Exception {
         ResultActions pageResponse = mvc.perform(get(URI))
                 .andExpect(status().is(401));
     }
 
+    private byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(body)) {
+            out.write(content);
+        }
+        return body.toByteArray();
+    }
+
     private String generateToken() throws Exception {
 
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
@@ -278,4 +734,9 @@ public class LogControllerTest {
         return String.format("Bearer %s", token);
 
     }
+
+    private static Specification<Log> anySpecification() {
+        return any();
+    }
+
 }
@@ -0,0 +1,63 @@
+package br.com.codenation.logstackapi.gelf;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class GelfChunkAssemblerTest {
+
+    private Counter expired;
+    private GelfChunkAssembler assembler;
+
+    @Before
+    public void setUp() {
+        expired = Counter.builder("expired").register(new SimpleMeterRegistry());
+        assembler = new GelfChunkAssembler(2, 1000L, expired);
+    }
+
+    @Test
+    public void dadoChunksForaDeOrdem_quandoReceberTodos_entaoDeveRemontarMensagem() throws IOException {
+        assertThat(assembler.add(1L, 2, 3, bytes("c"), 0L), nullValue());
+        assertThat(assembler.add(1L, 0, 3, bytes("a"), 1L), nullValue());
+        assertThat(assembler.add(1L, 0, 3, bytes("a"), 2L), nullValue());
+
+        InputStream message = assembler.add(1L, 1, 3, bytes("b"), 3L);
+
+        assertThat(StreamUtils.copyToString(message, StandardCharsets.UTF_8), equalTo("abc"));
+        assertThat(assembler.size(), equalTo(0));
+    }
+
+    @Test
+    public void dadoMensagemIncompleta_quandoExpirarTempo_entaoDeveDescartar() {
+        assembler.add(1L, 0, 2, bytes("a"), 0L);
+
+        assertThat(assembler.add(1L, 1, 2, bytes("b"), 1000L), nullValue());
+        assertThat(expired.count(), equalTo(1.0));
+    }
+
+    @Test
+    public void dadoBufferCheio_quandoReceberNovaMensagem_entaoDeveDescartarMaisAntiga() {
+        assembler.add(1L, 0, 2, bytes("a"), 0L);
+        assembler.add(2L, 0, 2, bytes("a"), 1L);
+        assembler.add(3L, 0, 2, bytes("a"), 2L);
+
+        assertThat(assembler.size(), equalTo(2));
+        assertThat(assembler.add(1L, 1, 2, bytes("b"), 3L), nullValue());
+        assertThat(expired.count(), equalTo(2.0));
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
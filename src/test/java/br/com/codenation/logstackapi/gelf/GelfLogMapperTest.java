@@ -0,0 +1,49 @@
+package br.com.codenation.logstackapi.gelf;
+
+import br.com.codenation.logstackapi.dto.request.GelfRequestDTO;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class GelfLogMapperTest {
+
+    private final GelfLogMapper mapper = new GelfLogMapper(LogEnvironment.PRODUCTION);
+
+    @Test
+    public void dadoHostEAplicacaoMaioresQueAsColunas_quandoMapear_entaoDeveTruncar() {
+        GelfRequestDTO message = GelfRequestDTO.builder()
+                .host(texto(300))
+                .shortMessage("Null pointer exception")
+                .app(texto(300))
+                .build();
+
+        Log log = mapper.map(message, "127.0.0.1");
+
+        assertThat(log.getApplication().getHost(), equalTo(texto(255)));
+        assertThat(log.getApplication().getName(), equalTo(texto(255)));
+    }
+
+    @Test
+    public void dadoNomeDoContainerMaiorQueAColuna_quandoMapear_entaoDeveTruncar() {
+        GelfRequestDTO message = GelfRequestDTO.builder()
+                .host("web01")
+                .shortMessage("Null pointer exception")
+                .containerName(texto(256))
+                .build();
+
+        Log log = mapper.map(message, "127.0.0.1");
+
+        assertThat(log.getApplication().getName(), equalTo(texto(255)));
+        assertThat(log.getApplication().getHost(), equalTo("web01"));
+    }
+
+    private static String texto(Integer length) {
+        return String.join("", Collections.nCopies(length, "a"));
+    }
+
+}
@@ -0,0 +1,117 @@
+package br.com.codenation.logstackapi.gelf;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import br.com.codenation.logstackapi.service.LogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.validation.Validation;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class GelfUdpServerTest {
+
+    private LogService logService;
+    private GelfUdpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        logService = Mockito.mock(LogService.class);
+        Customer customer = CustomerBuilder.codenation().build();
+        Mockito.when(logService.admit(eq(customer.getApiKey()), anyInt())).thenReturn(customer);
+
+        server = new GelfUdpServer(logService,
+                new GelfLogMapper(LogEnvironment.PRODUCTION),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                new SimpleMeterRegistry(),
+                true, "127.0.0.1", 0, customer.getApiKey().toString(),
+                2, 50L, 100, 5000L, 1048576L);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void dadoMensagensCompactadasEFragmentadas_quandoReceber_entaoDeveRemontarEGravar() throws IOException {
+        String stackTrace = new String(new char[3000]).replace('\0', 'x');
+        byte[] chunked = gzip("{\"version\":\"1.1\",\"host\":\"web01\",\"short_message\":\"boom\","
+                + "\"full_message\":\"" + stackTrace + "\",\"level\":3,\"_app\":\"checkout\",\"_env\":\"dev\"}");
+        byte[] single = deflate("{\"version\":\"1.1\",\"host\":\"web02\",\"short_message\":\"hello\",\"level\":6,"
+                + "\"_container_name\":\"nginx\"}");
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            int size = chunked.length / 3 + 1;
+            for (int sequence = 2; sequence >= 0; sequence--) {
+                byte[] part = Arrays.copyOfRange(chunked, sequence * size, Math.min(chunked.length, (sequence + 1) * size));
+                send(socket, chunk(42L, sequence, 3, part));
+            }
+            send(socket, single);
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 2
+                        && logs.get(0).getTitle().equals("boom")
+                        && logs.get(0).getDetail().getContent().equals(stackTrace)
+                        && logs.get(0).getDetail().getLevel() == LogLevel.ERROR
+                        && logs.get(0).getApplication().getName().equals("checkout")
+                        && logs.get(0).getApplication().getEnvironment() == LogEnvironment.DEVELOPMENT
+                        && logs.get(1).getApplication().getName().equals("nginx")
+                        && logs.get(1).getApplication().getHost().equals("web02")
+                        && logs.get(1).getDetail().getLevel() == LogLevel.INFO));
+    }
+
+    private byte[] chunk(long messageId, int sequence, int count, byte[] payload) {
+        return ByteBuffer.allocate(12 + payload.length)
+                .put((byte) 0x1e).put((byte) 0x0f)
+                .putLong(messageId)
+                .put((byte) sequence).put((byte) count)
+                .put(payload)
+                .array();
+    }
+
+    private byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] deflate(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+            deflate.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private void send(DatagramSocket socket, byte[] bytes) throws IOException {
+        socket.send(new DatagramPacket(bytes, bytes.length, InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+}
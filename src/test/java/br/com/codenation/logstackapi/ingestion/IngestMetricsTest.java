@@ -0,0 +1,64 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IngestMetricsTest {
+
+    private PrometheusMeterRegistry registry;
+    private IngestMetrics metrics;
+
+    @Before
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new CustomerTagLimit(1));
+        metrics = new IngestMetrics(registry);
+    }
+
+    @Test
+    public void dadoLogsDeVariosClientes_quandoIngerir_entaoDeveContarPorClienteComCardinalidadeLimitada() {
+        Customer primeiro = CustomerBuilder.codenation().build();
+        Customer segundo = CustomerBuilder.codenation().build();
+
+        metrics.ingested(Arrays.asList(
+                LogBuilder.umLog().cliente(primeiro).comLevelError().emProducao().build(),
+                LogBuilder.umLog().cliente(primeiro).comLevelError().emProducao().build()));
+        metrics.ingested(Collections.singletonList(
+                LogBuilder.umLog().cliente(segundo).comLevelError().emProducao().build()));
+
+        assertThat(registry.get("logstack.ingest.logs")
+                .tag("customer", primeiro.getId().toString())
+                .tag("level", "ERROR")
+                .tag("environment", "PRODUCTION")
+                .counter().count(), equalTo(2.0));
+        assertThat(registry.get("logstack.ingest.logs")
+                .tag("customer", CustomerTagLimit.OTHER_CUSTOMERS)
+                .counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void dadoEtapasMedidas_quandoExportarParaPrometheus_entaoDevePublicarPercentisEHistograma() {
+        metrics.record(IngestStage.PERSIST, () -> "ok");
+        metrics.received(512);
+
+        String scrape = registry.scrape();
+
+        assertThat(scrape, containsString("logstack_ingest_stage_seconds_bucket{stage=\"persist\""));
+        assertThat(scrape, containsString("logstack_ingest_stage_seconds{stage=\"persist\",quantile=\"0.99\""));
+        assertThat(scrape, containsString("logstack_ingest_bytes_bucket{"));
+        assertThat(registry.get("logstack.ingest.bytes").summary().totalAmount(), equalTo(512.0));
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class IngestRateLimiterTest {
+
+    private MeterRegistry registry;
+    private IngestRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        limiter = new IngestRateLimiter(registry, true, 1000.0, 2000, 100L, 600L);
+    }
+
+    @Test
+    public void dadoClienteComLimiteProprio_quandoExcederRajada_entaoDeveRejeitarEContarPorCliente() {
+        Customer customer = CustomerBuilder.codenation().comLimiteDeIngestao(0.5, 2).build();
+
+        limiter.acquire(customer, 2);
+        try {
+            limiter.acquire(customer, 1);
+            fail();
+        } catch (TooManyRequestsException e) {
+            assertThat(e.getRetryAfter(), equalTo(2L));
+        }
+
+        assertThat(registry.get("logstack.ingest.rate-limit.rejected")
+                .tag("customer", customer.getId().toString())
+                .counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void dadoClientesDiferentes_quandoUmExcederLimite_entaoOutroNaoDeveSerAfetado() {
+        Customer ruidoso = CustomerBuilder.codenation().comLimiteDeIngestao(1.0, 1).build();
+        Customer outro = CustomerBuilder.codenation().build();
+
+        limiter.acquire(ruidoso, 1);
+
+        assertThat(limiter.tryAcquire(ruidoso, 1) > 0, equalTo(true));
+        assertThat(limiter.tryAcquire(outro, 1000), equalTo(0L));
+    }
+
+    @Test
+    public void dadoClienteQueTrocouApiKey_quandoGravar_entaoDeveManterOMesmoLimite() {
+        Customer customer = CustomerBuilder.codenation().comLimiteDeIngestao(1.0, 1).build();
+
+        limiter.acquire(customer, 1);
+        customer.setApiKey(UUID.randomUUID());
+
+        assertThat(limiter.tryAcquire(customer, 1) > 0, equalTo(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoTaxaPadraoZerada_quandoCriar_entaoDeveRejeitar() {
+        new IngestRateLimiter(registry, true, 0.0, 2000, 100L, 600L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoLoteMaiorQueARajada_quandoAdmitir_entaoDeveRejeitarRequisicao() {
+        Customer customer = CustomerBuilder.codenation().comLimiteDeIngestao(1000.0, 10).build();
+
+        limiter.acquire(customer, 11);
+    }
+
+}
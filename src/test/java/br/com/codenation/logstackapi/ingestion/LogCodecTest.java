@@ -0,0 +1,154 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogViolation;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToCborBytes;
+import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToJsonBytes;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LogCodecTest {
+
+    private final LogCodec codec = new LogCodec(new IngestMetrics(new SimpleMeterRegistry()));
+    private final List<LogViolation> violations = new ArrayList<>();
+
+    @Test
+    public void dadoLogEmJson_quandoDecodificar_entaoDevePreencherOLog() throws IOException {
+        LogRequestDTO dto = LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-1").build();
+
+        Log log = decode(convertObjectToJsonBytes(dto));
+
+        assertThat(violations, empty());
+        assertThat(log.getTitle(), equalTo(dto.getTitle()));
+        assertThat(log.getApplication().getName(), equalTo("logstack-api"));
+        assertThat(log.getApplication().getIp(), equalTo("127.168.0.0"));
+        assertThat(log.getApplication().getEnvironment(), equalTo(LogEnvironment.PRODUCTION));
+        assertThat(log.getDetail().getLevel(), equalTo(LogLevel.ERROR));
+        assertThat(log.getDetail().getTimestamp(), equalTo(dto.getTimestamp()));
+        assertThat(log.getDetail().getContent(), equalTo(dto.getContent()));
+        assertThat(log.getIdempotencyKey(), equalTo("envio-1"));
+    }
+
+    @Test
+    public void dadoLogEmCbor_quandoDecodificar_entaoDevePreencherOLog() throws IOException {
+        LogRequestDTO dto = LogRequestDTOBuilder.umLog().build();
+
+        Log log = codec.decode(new ByteArrayInputStream(convertObjectToCborBytes(dto)), true, violations);
+
+        assertThat(violations, empty());
+        assertThat(log.getTitle(), equalTo(dto.getTitle()));
+        assertThat(log.getDetail().getTimestamp(), equalTo(dto.getTimestamp()));
+    }
+
+    @Test
+    public void dadoLogIncompleto_quandoDecodificar_entaoDeveRetornarViolacoesOrdenadas() throws IOException {
+        decode("{\"title\":\"x\",\"application\":{\"name\":\"api\",\"ip\":null},\"content\":\"c\",\"extra\":[1,{\"a\":2}]}"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThat(violations.stream().map(LogViolation::toString).collect(Collectors.toList()), contains(
+                "application.environment: must not be null",
+                "application.host: must not be null",
+                "application.ip: must not be null",
+                "level: must not be null",
+                "timestamp: must not be null",
+                "title: size must be between 2 and 120"));
+    }
+
+    @Test
+    public void dadoCamposMaioresQueAsColunas_quandoDecodificar_entaoDeveRetornarViolacoes() throws IOException {
+        LogRequestDTO dto = LogRequestDTOBuilder.umLog().build();
+        dto.setContent(texto(5001));
+        dto.getApplication().setName(texto(256));
+        dto.getApplication().setHost(texto(256));
+        dto.getApplication().setIp(texto(256));
+
+        decode(convertObjectToJsonBytes(dto));
+
+        assertThat(violations.stream().map(LogViolation::getField).collect(Collectors.toList()), contains(
+                "application.host", "application.ip", "application.name", "content"));
+        assertThat(violations.get(3).getMessage(), equalTo("size must be between 0 and 5000"));
+    }
+
+    @Test
+    public void dadoCamposNoLimiteDasColunas_quandoValidar_entaoNaoDeveRetornarViolacoes() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+        log.getDetail().setContent(texto(5000));
+        log.getApplication().setName(texto(255));
+
+        assertThat(codec.validate(log), empty());
+    }
+
+    @Test
+    public void dadoFormatosDeTimestamp_quandoDecodificar_entaoDeveConverterSemPerderPrecisao() {
+        assertThat(timestamp("2019-09-16T04:27:19.034Z"), equalTo(LocalDateTime.of(2019, 9, 16, 4, 27, 19, 34_000_000)));
+        assertThat(timestamp("2019-09-16T04:27:19.123456789"), equalTo(LocalDateTime.of(2019, 9, 16, 4, 27, 19, 123_456_789)));
+        assertThat(timestamp("2019-09-16T04:27:19"), equalTo(LocalDateTime.of(2019, 9, 16, 4, 27, 19)));
+        assertThat(timestamp("2019-09-16T04:27"), equalTo(LocalDateTime.of(2019, 9, 16, 4, 27)));
+        assertThat(timestamp("2019-09-16 04:27"), equalTo(null));
+    }
+
+    @Test
+    public void dadoTimestampEmArray_quandoDecodificar_entaoDeveConverter() throws IOException {
+        Log log = decode(("{\"title\":\"Título\",\"level\":\"INFO\",\"timestamp\":[2019,9,16,4,27,19,34000000]}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThat(log.getDetail().getTimestamp(), equalTo(LocalDateTime.of(2019, 9, 16, 4, 27, 19, 34_000_000)));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void dadoNivelDesconhecido_quandoDecodificar_entaoDeveFalhar() throws IOException {
+        decode("{\"level\":\"CRITICAL\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void dadoTimestampInvalido_quandoDecodificar_entaoDeveFalhar() throws IOException {
+        decode("{\"timestamp\":\"2019-13-16T04:27:19\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void dadoLogCodificado_quandoDecodificar_entaoDeveRetornarOMesmoLog() throws IOException {
+        Log original = LogBuilder.umLog().comLevelError().build();
+        original.setIdempotencyKey("envio-1");
+
+        Log log = decode(codec.encode(original));
+
+        assertThat(violations, empty());
+        assertThat(log.getTitle(), equalTo(original.getTitle()));
+        assertThat(log.getApplication().getHost(), equalTo(original.getApplication().getHost()));
+        assertThat(log.getDetail().getTimestamp(), equalTo(original.getDetail().getTimestamp()));
+        assertThat(log.getIdempotencyKey(), equalTo("envio-1"));
+    }
+
+    private Log decode(byte[] json) throws IOException {
+        return codec.decode(json, 0, json.length, violations);
+    }
+
+    private static String texto(Integer length) {
+        return String.join("", Collections.nCopies(length, "a"));
+    }
+
+    private LocalDateTime timestamp(String text) {
+        return LogCodec.parseTimestamp(text.toCharArray(), 0, text.length());
+    }
+
+}
@@ -0,0 +1,44 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.model.entity.Log;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LogContentCompressorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LogContentCompressor compressor = new LogContentCompressor(registry, true, 256);
+
+    @Test
+    public void dadoConteudoGrande_quandoComprimir_entaoDeveGuardarSomenteOBinario() {
+        Log log = LogBuilder.umLog().build();
+        log.setDetail(LogDetailBuilder.detalhe().comStackTrace().build());
+
+        compressor.compress(log);
+
+        assertThat(log.getDetail().getContentCompressed(), notNullValue());
+        assertThat(log.getDetail().getContentSearch(), notNullValue());
+        assertThat(log.getDetail().getContent(), equalTo(LogDetailBuilder.STACK_TRACE));
+        assertThat(registry.get("logstack.log.content.bytes").tag("form", "stored").counter().count(),
+                lessThan(registry.get("logstack.log.content.bytes").tag("form", "raw").counter().count()));
+    }
+
+    @Test
+    public void dadoConteudoPequeno_quandoComprimir_entaoDeveManterTexto() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+
+        compressor.compress(log);
+
+        assertThat(log.getDetail().getContentCompressed(), nullValue());
+        assertThat(log.getDetail().getContent(), equalTo("Detalhes do log"));
+    }
+
+}
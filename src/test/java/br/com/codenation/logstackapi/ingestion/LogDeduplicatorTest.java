@@ -0,0 +1,91 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class LogDeduplicatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LogDeduplicator deduplicator = new LogDeduplicator(registry, true, 60L, 1000L);
+    private final Customer customer = CustomerBuilder.codenation().build();
+
+    @Test
+    public void dadoLogsRepetidosNoLote_quandoAgrupar_entaoDeveInserirUmComOcorrencias() {
+        Log first = umLog();
+        Log second = umLog();
+        second.getDetail().setTimestamp(first.getDetail().getTimestamp().plusSeconds(5));
+
+        LogCollapse collapse = deduplicator.collapse(Arrays.asList(first, second, umLog()));
+
+        assertThat(collapse.getInserts(), contains(sameInstance(first)));
+        assertThat(first.getOccurrences(), equalTo(3));
+        assertThat(first.getLastSeen(), equalTo(second.getDetail().getTimestamp()));
+        assertThat(collapse.resolve(Collections.emptyMap()), contains(sameInstance(first), sameInstance(first), sameInstance(first)));
+    }
+
+    @Test
+    public void dadoLogJaGravado_quandoRepetirNaJanela_entaoDeveApontarParaOLogExistente() {
+        Log first = umLog();
+        deduplicator.complete(deduplicator.collapse(Collections.singletonList(first)));
+
+        Log repeat = umLog();
+        LogCollapse collapse = deduplicator.collapse(Collections.singletonList(repeat));
+
+        assertThat(collapse.getInserts(), hasSize(0));
+        assertThat(collapse.getRepeats(), contains(sameInstance(repeat)));
+        assertThat(collapse.getExisting(repeat), equalTo(LogKey.of(first)));
+    }
+
+    @Test
+    public void dadoRepeticaoSemLogExistente_quandoReinserir_entaoDeveGravarNovoLog() {
+        deduplicator.complete(deduplicator.collapse(Collections.singletonList(umLog())));
+
+        Log repeat = umLog();
+        LogCollapse collapse = deduplicator.collapse(Arrays.asList(repeat, umLog()));
+        collapse.reinsert(repeat);
+
+        assertThat(collapse.getInserts(), contains(sameInstance(repeat)));
+        assertThat(repeat.getOccurrences(), equalTo(2));
+        assertThat(collapse.getCollapsed(), hasSize(1));
+    }
+
+    @Test
+    public void dadoClientesDiferentes_quandoAgrupar_entaoNaoDeveMisturarLogs() {
+        Log other = LogBuilder.umLog().comLevelError().cliente(CustomerBuilder.codenation().build()).build();
+
+        LogCollapse collapse = deduplicator.collapse(Arrays.asList(umLog(), other));
+
+        assertThat(collapse.getInserts(), hasSize(2));
+    }
+
+    @Test
+    public void dadoLogsAgrupados_quandoConcluir_entaoDeveRegistrarEconomia() {
+        List<Log> logs = Arrays.asList(umLog(), umLog(), umLog());
+
+        deduplicator.complete(deduplicator.collapse(logs));
+
+        assertThat(registry.get("logstack.ingest.dedup.collapsed").tag("level", "ERROR").counter().count(), equalTo(2.0));
+        assertThat(registry.get("logstack.ingest.dedup.bytes.saved").counter().count(), greaterThan(0.0));
+    }
+
+    private Log umLog() {
+        return LogBuilder.umLog().comLevelError().cliente(customer).build();
+    }
+
+}
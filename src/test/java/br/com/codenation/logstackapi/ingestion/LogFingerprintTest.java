@@ -0,0 +1,40 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.model.entity.Log;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class LogFingerprintTest {
+
+    @Test
+    public void dadoLogsQueDiferemEmCaixaEEspacos_quandoGerarFingerprint_entaoDevemSerIguais() {
+        Log log = LogBuilder.umLog().comLevelError().titulo("NullPointerException at Service").build();
+        Log repeat = LogBuilder.umLog().comLevelError().titulo("  nullpointerexception   at\tservice ").build();
+
+        assertThat(LogFingerprint.of(repeat), equalTo(LogFingerprint.of(log)));
+    }
+
+    @Test
+    public void dadoLogsComConteudoDiferente_quandoGerarFingerprint_entaoDevemSerDiferentes() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+        Log other = LogBuilder.umLog().comLevelError().build();
+        other.getDetail().setContent("Outro conteúdo");
+
+        assertThat(LogFingerprint.of(other), not(equalTo(LogFingerprint.of(log))));
+    }
+
+    @Test
+    public void dadoCamposConcatenadosIguais_quandoGerarFingerprint_entaoDevemSerDiferentes() {
+        Log log = LogBuilder.umLog().comLevelError().titulo("ab").build();
+        log.getDetail().setContent("c");
+        Log other = LogBuilder.umLog().comLevelError().titulo("a").build();
+        other.getDetail().setContent("bc");
+
+        assertThat(LogFingerprint.of(other), not(equalTo(LogFingerprint.of(log))));
+    }
+
+}
@@ -0,0 +1,82 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class LogIdempotencyIndexTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LogIdempotencyIndex index = new LogIdempotencyIndex(registry, 60L, 1000L);
+    private final Customer customer = CustomerBuilder.codenation().build();
+
+    @Test
+    public void dadoLogsSemChave_quandoReivindicar_entaoDeveGravarTodos() {
+        List<Log> logs = Arrays.asList(umLog(null), umLog(null));
+
+        IdempotentBatch batch = index.claim(logs);
+
+        assertThat(batch.getFresh(), hasSize(2));
+        assertThat(batch.isReplay(), equalTo(false));
+        assertThat(batch.resolve(logs, Collections.emptyMap()), sameInstance(logs));
+    }
+
+    @Test
+    public void dadoChaveJaGravada_quandoReenviar_entaoDeveRetornarLogOriginal() {
+        Log original = umLog("chave-1");
+        index.complete(Collections.singletonList(original));
+
+        Log retry = umLog("chave-1");
+        IdempotentBatch batch = index.claim(Collections.singletonList(retry));
+
+        assertThat(batch.getFresh(), hasSize(0));
+        assertThat(batch.getExistingKeys(), contains(LogKey.of(original)));
+        assertThat(batch.resolve(Collections.emptyList(), Collections.singletonMap(original.getId(), original)),
+                contains(sameInstance(original)));
+        assertThat(registry.get("logstack.ingest.idempotency.replayed").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void dadoChaveRepetidaNoLote_quandoReivindicar_entaoDeveGravarApenasOPrimeiro() {
+        Log first = umLog("chave-1");
+        Log repeat = umLog("chave-1");
+        Log other = umLog("chave-2");
+
+        IdempotentBatch batch = index.claim(Arrays.asList(first, repeat, other));
+
+        assertThat(batch.getFresh(), contains(sameInstance(first), sameInstance(other)));
+        assertThat(batch.resolve(batch.getFresh(), Collections.emptyMap()),
+                contains(sameInstance(first), sameInstance(first), sameInstance(other)));
+    }
+
+    @Test
+    public void dadoMesmaChaveDeOutroCliente_quandoReivindicar_entaoNaoDeveReaproveitarLog() {
+        index.complete(Collections.singletonList(umLog("chave-1")));
+
+        Log other = LogBuilder.umLog().comLevelError().cliente(CustomerBuilder.codenation().build()).build();
+        other.setIdempotencyKey("chave-1");
+
+        assertThat(index.claim(Collections.singletonList(other)).getFresh(), contains(sameInstance(other)));
+    }
+
+    private Log umLog(String idempotencyKey) {
+        Log log = LogBuilder.umLog().comLevelError().cliente(customer).build();
+        log.setIdempotencyKey(idempotencyKey);
+        return log;
+    }
+
+}
@@ -0,0 +1,127 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+
+public class LogIngestionBufferTest {
+
+    private LogService logService;
+    private MeterRegistry registry;
+    private LogIngestionBuffer buffer;
+
+    @Before
+    public void setUp() {
+        logService = Mockito.mock(LogService.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (buffer != null) buffer.stop();
+    }
+
+    @Test
+    public void dadoBufferHabilitado_quandoAtingirTamanhoDoLote_entaoDeveGravarEmGrupo() {
+        buffer = new LogIngestionBuffer(logService, registry, true, 100, 1, 3, 5000L, QueueFullPolicy.REJECT, 0L);
+        buffer.start();
+
+        buffer.offer(LogBuilder.umLog().build());
+        buffer.offer(LogBuilder.umLog().build());
+        buffer.offer(LogBuilder.umLog().build());
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) -> logs.size() == 3));
+        assertThat(registry.get("logstack.ingest.buffer.flush.size").summary().totalAmount(), equalTo(3.0));
+    }
+
+    @Test
+    public void dadoBufferHabilitado_quandoExpirarIntervalo_entaoDeveGravarLoteParcial() {
+        buffer = new LogIngestionBuffer(logService, registry, true, 100, 1, 500, 50L, QueueFullPolicy.REJECT, 0L);
+        buffer.start();
+
+        buffer.offer(LogBuilder.umLog().build());
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) -> logs.size() == 1));
+    }
+
+    @Test
+    public void dadoFilaCheia_quandoPoliticaRejeitar_entaoDeveRetornarErro() {
+        buffer = new LogIngestionBuffer(logService, registry, true, 1, 1, 500, 50L, QueueFullPolicy.REJECT, 0L);
+
+        buffer.offer(LogBuilder.umLog().build());
+        try {
+            buffer.offer(LogBuilder.umLog().build());
+            fail();
+        } catch (TooManyRequestsException e) {
+            assertThat(e.getRetryAfter(), equalTo(1L));
+        }
+
+        assertThat(registry.get("logstack.ingest.buffer.rejected").counter().count(), equalTo(1.0));
+        assertThat(registry.get("logstack.ingest.buffer.depth").gauge().value(), equalTo(1.0));
+        Mockito.verify(logService, Mockito.never()).saveAll(anyList());
+    }
+
+    @Test(expected = TooManyRequestsException.class)
+    public void dadoFilaCheia_quandoPoliticaBloquear_entaoDeveRetornarErroAposTimeout() {
+        buffer = new LogIngestionBuffer(logService, registry, true, 1, 1, 500, 50L, QueueFullPolicy.BLOCK, 20L);
+
+        buffer.offer(LogBuilder.umLog().build());
+        buffer.offer(LogBuilder.umLog().build());
+    }
+
+    @Test
+    public void dadoFalhaAoGravar_quandoDescarregarLote_entaoDeveContabilizarFalha() {
+        Mockito.when(logService.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        buffer = new LogIngestionBuffer(logService, registry, true, 100, 1, 1, 50L, QueueFullPolicy.REJECT, 0L);
+        buffer.start();
+
+        buffer.offer(LogBuilder.umLog().build());
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(anyList());
+        Mockito.verify(logService, Mockito.after(200).times(1)).saveAll(anyList());
+        assertThat(registry.get("logstack.ingest.buffer.failed").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void dadoLogRecusadoPeloBanco_quandoDescarregarLote_entaoDeveGravarOsDemais() {
+        Log recusado = LogBuilder.umLog().build();
+        Mockito.when(logService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Log> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> log == recusado)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return logs;
+        });
+        buffer = new LogIngestionBuffer(logService, registry, true, 100, 1, 4, 5000L, QueueFullPolicy.REJECT, 0L);
+        buffer.start();
+
+        buffer.offer(LogBuilder.umLog().build());
+        buffer.offer(recusado);
+        buffer.offer(LogBuilder.umLog().build());
+        buffer.offer(LogBuilder.umLog().build());
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 2 && logs.stream().noneMatch(log -> log == recusado)));
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 1 && logs.get(0) != recusado));
+        Mockito.verify(logService, Mockito.after(200).times(5)).saveAll(anyList());
+        assertThat(registry.get("logstack.ingest.buffer.failed").counter().count(), equalTo(1.0));
+    }
+
+}
@@ -0,0 +1,110 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.exception.InvalidLogException;
+import br.com.codenation.logstackapi.ingestion.journal.FsyncPolicy;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.CustomerService;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+public class LogIngestionJournalTest {
+
+    private static final String REJECTED_TITLE = "rejeitado";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Customer customer = CustomerBuilder.codenation().build();
+    private final LogService logService = Mockito.mock(LogService.class);
+    private final CustomerService customerService = Mockito.mock(CustomerService.class);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private LogIngestionJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        when(logService.admit(any(), anyInt())).thenReturn(customer);
+        when(logService.prepare(any(Customer.class), any(Log.class))).thenAnswer(invocation -> invocation.getArgument(1));
+        when(customerService.findById(customer.getId())).thenReturn(Optional.of(customer));
+
+        journal = new LogIngestionJournal(logService, customerService, new LogCodec(new IngestMetrics(registry)), registry,
+                true, folder.getRoot().getPath(), 65536, 1048576L, FsyncPolicy.NEVER, 1000L, 10, 20L);
+        journal.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        journal.stop();
+    }
+
+    @Test
+    public void dadoLogRecusadoPeloBanco_quandoDescarregar_entaoDeveDescartarApenasEleEAvancar() throws InterruptedException {
+        when(logService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Log> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> REJECTED_TITLE.equals(log.getTitle()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return logs;
+        });
+
+        journal.append(customer.getApiKey(), LogBuilder.umLog().comLevelError().build());
+        journal.append(customer.getApiKey(), LogBuilder.umLog().comLevelError().titulo(REJECTED_TITLE).build());
+        journal.append(customer.getApiKey(), LogBuilder.umLog().comLevelError().build());
+        journal.append(customer.getApiKey(), LogBuilder.umLog().comLevelError().build());
+
+        await("logstack.ingest.journal.flushed", 3.0);
+        assertThat(count("logstack.ingest.journal.discarded"), equalTo(1.0));
+        assertThat(registry.get("logstack.ingest.journal.pending.bytes").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    public void dadoConteudoMaiorQueAColuna_quandoGravarNoJournal_entaoDeveRejeitarAntesDeAdmitir() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+        log.getDetail().setContent(String.join("", Collections.nCopies(5001, "a")));
+
+        try {
+            journal.append(customer.getApiKey(), log);
+            fail();
+        } catch (InvalidLogException e) {
+            assertThat(e.getViolations().get(0).getField(), equalTo("content"));
+        }
+
+        Mockito.verify(logService, Mockito.never()).admit(any(), anyInt());
+    }
+
+    private void await(String counter, Double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!count(counter).equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count(counter), equalTo(expected));
+    }
+
+    private Double count(String counter) {
+        return registry.get(counter).counter().count();
+    }
+
+}
@@ -0,0 +1,54 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class NdjsonLineReaderTest {
+
+    @Test
+    public void dadoFluxoComVariasLinhas_quandoLer_entaoDeveRetornarCadaLinha() throws IOException {
+        NdjsonLineReader reader = reader("{\"a\":1}\n\n{\"b\":2}", 64);
+
+        assertThat(reader.next(), equalTo(true));
+        assertThat(line(reader), equalTo("{\"a\":1}"));
+        assertThat(reader.getLineNumber(), equalTo(1L));
+
+        assertThat(reader.next(), equalTo(true));
+        assertThat(line(reader), equalTo(""));
+
+        assertThat(reader.next(), equalTo(true));
+        assertThat(line(reader), equalTo("{\"b\":2}"));
+        assertThat(reader.getLineNumber(), equalTo(3L));
+
+        assertThat(reader.next(), equalTo(false));
+    }
+
+    @Test
+    public void dadoLinhaMaiorQueOLimite_quandoLer_entaoDeveMarcarComoTruncada() throws IOException {
+        NdjsonLineReader reader = reader("0123456789\nok\n", 4);
+
+        assertThat(reader.next(), equalTo(true));
+        assertThat(reader.isTruncated(), equalTo(true));
+
+        assertThat(reader.next(), equalTo(true));
+        assertThat(reader.isTruncated(), equalTo(false));
+        assertThat(line(reader), equalTo("ok"));
+
+        assertThat(reader.next(), equalTo(false));
+    }
+
+    private NdjsonLineReader reader(String content, Integer maxLineBytes) {
+        return new NdjsonLineReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), maxLineBytes);
+    }
+
+    private String line(NdjsonLineReader reader) {
+        return new String(reader.getLine(), 0, reader.getLength(), StandardCharsets.UTF_8);
+    }
+
+}
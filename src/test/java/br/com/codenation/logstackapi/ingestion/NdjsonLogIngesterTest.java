@@ -0,0 +1,92 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogIngestionSummary;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToJsonBytes;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+public class NdjsonLogIngesterTest {
+
+    private LogService logService;
+    private EntityManager entityManager;
+    private NdjsonLogIngester ingester;
+    private Customer customer;
+
+    @Before
+    public void setUp() {
+        logService = Mockito.mock(LogService.class);
+        entityManager = Mockito.mock(EntityManager.class);
+        ingester = new NdjsonLogIngester(logService, Mockito.mock(IngestRateLimiter.class), entityManager,
+                new LogCodec(new IngestMetrics(new SimpleMeterRegistry())), 100, 65536);
+        customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(logService.findCustomerByApiKey(customer.getApiKey())).thenReturn(customer);
+        Mockito.when(logService.prepare(Mockito.eq(customer), any(Log.class))).thenAnswer(i -> i.getArgument(1));
+    }
+
+    @Test
+    public void dadoFluxoGrande_quandoIngerir_entaoDeveGravarEmLotesLimitados() throws IOException {
+        List<Integer> lotes = new ArrayList<>();
+        Mockito.when(logService.saveAll(anyList())).thenAnswer(i -> {
+            lotes.add(i.<List<Log>>getArgument(0).size());
+            return i.getArgument(0);
+        });
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < 1050; i++) {
+            body.write(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build()));
+            body.write('\n');
+        }
+
+        LogIngestionSummary summary = ingester.ingest(customer.getApiKey(), new ByteArrayInputStream(body.toByteArray()));
+
+        assertThat(summary.getAccepted(), equalTo(1050L));
+        assertThat(summary.getRejected(), equalTo(0L));
+        assertThat(lotes.size(), equalTo(11));
+        assertThat(Collections.max(lotes), equalTo(100));
+        assertThat(lotes.get(10), equalTo(50));
+        Mockito.verify(entityManager, Mockito.times(11)).clear();
+        Mockito.verify(logService, Mockito.times(1)).findCustomerByApiKey(customer.getApiKey());
+    }
+
+    @Test
+    public void dadoLinhasInvalidas_quandoIngerir_entaoDeveRejeitarSomenteAsLinhasComErro() throws IOException {
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build()));
+        body.write("\n{nao e json\n".getBytes());
+        body.write(convertObjectToJsonBytes(semNivel));
+        body.write('\n');
+
+        LogIngestionSummary summary = ingester.ingest(customer.getApiKey(), new ByteArrayInputStream(body.toByteArray()));
+
+        assertThat(summary.getAccepted(), equalTo(1L));
+        assertThat(summary.getRejected(), equalTo(2L));
+        assertThat(summary.getErrors().get(0), equalTo("line 2: malformed JSON"));
+        assertThat(summary.getErrors().get(1), equalTo("line 3: level: must not be null"));
+    }
+
+}
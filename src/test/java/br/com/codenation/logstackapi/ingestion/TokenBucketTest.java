@@ -0,0 +1,34 @@
+package br.com.codenation.logstackapi.ingestion;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void dadoBucketCheio_quandoConsumirRajada_entaoDeveAceitarAteOLimite() {
+        TokenBucket bucket = new TokenBucket(10.0, 5, 0L);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(1, 0L), equalTo(0L));
+        }
+        assertThat(bucket.tryAcquire(1, 0L), equalTo(SECOND / 10));
+    }
+
+    @Test
+    public void dadoBucketVazio_quandoPassarOTempo_entaoDeveReporTokens() {
+        TokenBucket bucket = new TokenBucket(10.0, 5, 0L);
+        assertThat(bucket.tryAcquire(5, 0L), equalTo(0L));
+
+        assertThat(bucket.tryAcquire(2, SECOND / 10), greaterThan(0L));
+        assertThat(bucket.tryAcquire(2, SECOND / 5), equalTo(0L));
+    }
+
+}
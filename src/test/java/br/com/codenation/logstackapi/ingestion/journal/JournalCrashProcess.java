@@ -0,0 +1,49 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class JournalCrashProcess {
+
+    static final String APPENDED = "APPENDED";
+    static final String FLUSHING = "FLUSHING";
+    static final Integer SEGMENT_BYTES = 4096;
+    static final Integer FLUSH_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args[0]);
+        Path sink = Paths.get(args[1]);
+        int records = Integer.parseInt(args[2]);
+
+        LogJournal journal = LogJournal.open(directory, SEGMENT_BYTES, Long.MAX_VALUE, FsyncPolicy.NEVER);
+        for (int i = 0; i < records; i++) {
+            journal.append(("log-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        System.out.println(APPENDED);
+
+        List<JournalRecord> batch;
+        while (!(batch = journal.read(journal.getCheckpoint(), FLUSH_SIZE)).isEmpty()) {
+            write(sink, batch);
+            System.out.println(FLUSHING);
+            Thread.sleep(200);
+            journal.commit(batch.get(batch.size() - 1).getNextPosition());
+        }
+    }
+
+    static void write(Path sink, List<JournalRecord> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        batch.forEach(record -> lines.append(new String(record.getPayload(), StandardCharsets.UTF_8)).append('\n'));
+        try (FileChannel channel = FileChannel.open(sink, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+    }
+
+}
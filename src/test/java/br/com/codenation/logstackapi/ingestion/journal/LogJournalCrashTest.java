@@ -0,0 +1,70 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class LogJournalCrashTest {
+
+    private static final Integer RECORDS = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(timeout = 60000)
+    public void dadoProcessoMortoDuranteFlush_quandoReabrirJournal_entaoNenhumLogDeveSerPerdido() throws Exception {
+        Path directory = folder.newFolder("journal").toPath();
+        Path sink = folder.getRoot().toPath().resolve("sink.log");
+
+        Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                JournalCrashProcess.class.getName(),
+                directory.toString(), sink.toString(), String.valueOf(RECORDS))
+                .redirectErrorStream(true)
+                .start();
+
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            int flushes = 0;
+            String line;
+            while ((line = output.readLine()) != null && flushes < 3) {
+                if (JournalCrashProcess.FLUSHING.equals(line)) flushes++;
+            }
+            assertThat(flushes, equalTo(3));
+            process.destroyForcibly();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+
+        try (LogJournal journal = LogJournal.open(directory, JournalCrashProcess.SEGMENT_BYTES, Long.MAX_VALUE, FsyncPolicy.NEVER)) {
+            assertThat(journal.pendingBytes(), greaterThan(0L));
+
+            List<JournalRecord> batch;
+            while (!(batch = journal.read(journal.getCheckpoint(), JournalCrashProcess.FLUSH_SIZE)).isEmpty()) {
+                JournalCrashProcess.write(sink, batch);
+                journal.commit(batch.get(batch.size() - 1).getNextPosition());
+            }
+            assertThat(journal.pendingBytes(), equalTo(0L));
+        }
+
+        Set<String> expected = IntStream.range(0, RECORDS).mapToObj(i -> "log-" + i).collect(Collectors.toSet());
+        assertThat(new HashSet<>(Files.readAllLines(sink, StandardCharsets.UTF_8)), equalTo(expected));
+    }
+
+}
@@ -0,0 +1,142 @@
+package br.com.codenation.logstackapi.ingestion.journal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+public class LogJournalTest {
+
+    private static final Integer SEGMENT_BYTES = 64;
+    private static final Long MAX_BYTES = 1024L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void dadoRegistrosGravados_quandoLer_entaoDeveRetornarNaOrdem() throws IOException {
+        try (LogJournal journal = open()) {
+            journal.append(bytes("log-1"));
+            journal.append(bytes("log-2"));
+
+            List<JournalRecord> records = journal.read(journal.getCheckpoint(), 10);
+
+            assertThat(payloads(records), contains("log-1", "log-2"));
+            assertThat(records.get(1).getPosition(), equalTo(records.get(0).getNextPosition()));
+        }
+    }
+
+    @Test
+    public void dadoSegmentoCheio_quandoGravar_entaoDeveCriarNovoSegmento() throws IOException {
+        try (LogJournal journal = open()) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(bytes("log-entry-" + i));
+            }
+
+            assertThat(segments(), greaterThan(1L));
+            assertThat(payloads(journal.read(0L, 10)), hasSize(6));
+        }
+    }
+
+    @Test
+    public void dadoCheckpoint_quandoConfirmar_entaoDeveRemoverSegmentosConsumidos() throws IOException {
+        try (LogJournal journal = open()) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(bytes("log-entry-" + i));
+            }
+            List<JournalRecord> records = journal.read(0L, 5);
+
+            journal.commit(records.get(4).getNextPosition());
+
+            assertThat(segments(), equalTo(1L));
+            assertThat(payloads(journal.read(journal.getCheckpoint(), 10)), contains("log-entry-5"));
+        }
+    }
+
+    @Test
+    public void dadoJournalCheio_quandoGravar_entaoDeveRecusar() throws IOException {
+        try (LogJournal journal = LogJournal.open(folder.getRoot().toPath(), SEGMENT_BYTES, 40L, FsyncPolicy.NEVER)) {
+            assertThat(journal.append(bytes("0123456789")), equalTo(true));
+            assertThat(journal.append(bytes("0123456789")), equalTo(true));
+            assertThat(journal.append(bytes("0123456789")), equalTo(false));
+
+            journal.commit(journal.getWritePosition());
+
+            assertThat(journal.append(bytes("0123456789")), equalTo(true));
+        }
+    }
+
+    @Test
+    public void dadoJournalReaberto_quandoLerDoCheckpoint_entaoDeveReprocessarPendentes() throws IOException {
+        try (LogJournal journal = open()) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(bytes("log-entry-" + i));
+            }
+            journal.commit(journal.read(0L, 2).get(1).getNextPosition());
+        }
+
+        try (LogJournal journal = open()) {
+            assertThat(payloads(journal.read(journal.getCheckpoint(), 10)),
+                    contains("log-entry-2", "log-entry-3", "log-entry-4", "log-entry-5"));
+        }
+    }
+
+    @Test
+    public void dadoRegistroCorrompido_quandoReabrir_entaoDeveDescartarOFinal() throws IOException {
+        long corrupted;
+        try (LogJournal journal = open()) {
+            journal.append(bytes("log-1"));
+            corrupted = journal.getWritePosition();
+            journal.append(bytes("log-2"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(0L).toFile(), "rw")) {
+            file.seek(corrupted + 8);
+            file.write('X');
+        }
+
+        try (LogJournal journal = open()) {
+            assertThat(journal.getWritePosition(), equalTo(corrupted));
+            journal.append(bytes("log-3"));
+            assertThat(payloads(journal.read(0L, 10)), contains("log-1", "log-3"));
+        }
+    }
+
+    private LogJournal open() throws IOException {
+        return LogJournal.open(folder.getRoot().toPath(), SEGMENT_BYTES, MAX_BYTES, FsyncPolicy.NEVER);
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            return files.filter(file -> file.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private Path segmentFile(Long base) {
+        return folder.getRoot().toPath().resolve(String.format("segment-%020d.journal", base));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(List<JournalRecord> records) {
+        return records.stream()
+                .map(record -> new String(record.getPayload(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,146 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.dto.request.LogRequestDTO;
+import br.com.codenation.logstackapi.ingestion.IngestMetrics;
+import br.com.codenation.logstackapi.ingestion.IngestRateLimiter;
+import br.com.codenation.logstackapi.ingestion.LogCodec;
+import br.com.codenation.logstackapi.ingestion.NdjsonLogIngester;
+import br.com.codenation.logstackapi.mappers.LogMapperImpl;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.codenation.logstackapi.util.TestUtil.convertObjectToJsonBytes;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class ReactiveIngestionServerTest {
+
+    private LogService logService;
+    private ReactiveIngestionServer server;
+    private WebTestClient client;
+    private Customer customer;
+    private AtomicInteger gravados;
+
+    @Before
+    public void setUp() {
+        logService = Mockito.mock(LogService.class);
+        customer = CustomerBuilder.codenation().build();
+        gravados = new AtomicInteger();
+
+        Mockito.when(logService.findCustomerByApiKey(customer.getApiKey())).thenReturn(customer);
+        Mockito.when(logService.prepare(eq(customer), any(Log.class))).thenAnswer(i -> i.getArgument(1));
+        Mockito.when(logService.prepare(eq(customer.getApiKey()), any(Log.class))).thenAnswer(i -> i.getArgument(1));
+        Mockito.when(logService.saveAll(anyList())).thenAnswer(i -> {
+            gravados.addAndGet(i.<List<Log>>getArgument(0).size());
+            return i.getArgument(0);
+        });
+
+        LogCodec codec = new LogCodec(new IngestMetrics(new SimpleMeterRegistry()));
+        NdjsonLogIngester ndjsonIngester = new NdjsonLogIngester(logService, Mockito.mock(IngestRateLimiter.class),
+                Mockito.mock(EntityManager.class), codec, 100, 65536);
+        server = new ReactiveIngestionServer(logService, ndjsonIngester, codec, new LogMapperImpl(),
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(),
+                true, "127.0.0.1", 0, 1, 2, 1, 1000, 100, 20L);
+        server.start();
+
+        client = WebTestClient.bindToServer().baseUrl("http://127.0.0.1:" + server.getPort()).build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void dadoFluxoNdjson_quandoIngerir_entaoDeveGravarLinhasValidasAntesDeResponder() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < 250; i++) {
+            body.write(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build()));
+            body.write('\n');
+        }
+        body.write("{nao e json".getBytes());
+
+        client.post()
+                .uri("/api/v1/logs/stream?apiKey={apiKey}", customer.getApiKey())
+                .contentType(MediaType.valueOf("application/x-ndjson"))
+                .syncBody(body.toByteArray())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accepted").isEqualTo(250)
+                .jsonPath("$.rejected").isEqualTo(1)
+                .jsonPath("$.errors[0]").isEqualTo("line 251: malformed JSON");
+
+        assertThat(gravados.get(), equalTo(250));
+    }
+
+    @Test
+    public void dadoLog_quandoSalvar_entaoDeveAceitarComChaveDeIdempotencia() throws IOException {
+        client.post()
+                .uri("/api/v1/logs?apiKey={apiKey}", customer.getApiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "envio-1")
+                .syncBody(convertObjectToJsonBytes(LogRequestDTOBuilder.umLog().build()))
+                .exchange()
+                .expectStatus().isAccepted();
+
+        Mockito.verify(logService).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 1 && logs.get(0).getIdempotencyKey().equals("envio-1")));
+    }
+
+    @Test
+    public void dadoLogSemNivel_quandoSalvar_entaoDeveRetornarErroDeValidacao() throws IOException {
+        LogRequestDTO semNivel = LogRequestDTOBuilder.umLog().build();
+        semNivel.setLevel(null);
+
+        client.post()
+                .uri("/api/v1/logs?apiKey={apiKey}", customer.getApiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(convertObjectToJsonBytes(semNivel))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation error")
+                .jsonPath("$.subErrors[0].field").isEqualTo("level");
+
+        Mockito.verify(logService, Mockito.never()).saveAll(anyList());
+    }
+
+    @Test
+    public void dadoApiKeyInvalida_quandoIngerirFluxo_entaoDeveRetornarErro() {
+        UUID apiKey = UUID.randomUUID();
+        Mockito.when(logService.findCustomerByApiKey(apiKey)).thenThrow(new IllegalArgumentException("Invalid API Key"));
+
+        client.post()
+                .uri("/api/v1/logs/stream?apiKey={apiKey}", apiKey)
+                .contentType(MediaType.valueOf("application/x-ndjson"))
+                .syncBody("{}\n")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid API Key");
+    }
+
+}
@@ -0,0 +1,86 @@
+package br.com.codenation.logstackapi.ingestion.reactive;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+
+public class ReactiveLogWriterTest {
+
+    private LogService logService;
+    private ReactiveLogWriter writer;
+
+    @Before
+    public void setUp() {
+        logService = Mockito.mock(LogService.class);
+        Mockito.when(logService.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+        writer = new ReactiveLogWriter(logService, new SimpleMeterRegistry(), 1, 3, 3, 500L);
+        writer.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    public void dadoEscritasDeVariasConexoes_quandoGravar_entaoDeveAgruparNoMesmoLote() {
+        Log primeiro = LogBuilder.umLog().build();
+        Log segundo = LogBuilder.umLog().build();
+        Log terceiro = LogBuilder.umLog().build();
+
+        Mono.when(writer.write(Collections.singletonList(primeiro)),
+                writer.write(Arrays.asList(segundo, terceiro)))
+                .block(Duration.ofSeconds(5));
+
+        Mockito.verify(logService).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 3 && logs.get(0) == primeiro && logs.get(1) == segundo && logs.get(2) == terceiro));
+    }
+
+    @Test
+    public void dadoLoteComLogRecusado_quandoGravar_entaoDeveFalharApenasAEscritaDele() {
+        Log valido = LogBuilder.umLog().build();
+        Log recusado = LogBuilder.umLog().build();
+        Mockito.when(logService.saveAll(argThat((List<Log> logs) -> logs.stream().anyMatch(log -> log == recusado))))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        AtomicReference<Throwable> erroValido = new AtomicReference<>();
+        AtomicReference<Throwable> erroRecusado = new AtomicReference<>();
+
+        Mono.when(writer.write(Collections.singletonList(valido)).doOnError(erroValido::set).onErrorResume(e -> Mono.empty()),
+                writer.write(Collections.singletonList(recusado)).doOnError(erroRecusado::set).onErrorResume(e -> Mono.empty()))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(erroValido.get(), nullValue());
+        assertThat(erroRecusado.get(), instanceOf(DataIntegrityViolationException.class));
+        Mockito.verify(logService).saveAll(argThat((List<Log> logs) -> logs.size() == 2));
+        Mockito.verify(logService).saveAll(argThat((List<Log> logs) -> logs.size() == 1 && logs.get(0) == valido));
+    }
+
+    @Test(expected = TooManyRequestsException.class)
+    public void dadoEscritorSemCapacidade_quandoGravar_entaoDeveRecusar() {
+        List<Log> logs = Arrays.asList(LogBuilder.umLog().build(), LogBuilder.umLog().build(),
+                LogBuilder.umLog().build(), LogBuilder.umLog().build());
+
+        writer.write(logs).block(Duration.ofSeconds(5));
+    }
+
+}
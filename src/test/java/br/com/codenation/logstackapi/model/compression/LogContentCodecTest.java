@@ -0,0 +1,55 @@
+package br.com.codenation.logstackapi.model.compression;
+
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class LogContentCodecTest {
+
+    @Test
+    public void dadoStackTrace_quandoComprimir_entaoDeveRecuperarOConteudoOriginal() {
+        byte[] compressed = LogContentCodec.compress(LogDetailBuilder.STACK_TRACE);
+
+        assertThat(LogContentCodec.decompress(compressed), equalTo(LogDetailBuilder.STACK_TRACE));
+        assertThat(compressed.length, lessThan(LogDetailBuilder.STACK_TRACE.getBytes(StandardCharsets.UTF_8).length / 4));
+    }
+
+    @Test
+    public void dadoConteudoComAcentos_quandoComprimir_entaoDevePreservarOsCaracteres() {
+        String content = "Falha na conexão com o serviço de notificação";
+
+        assertThat(LogContentCodec.decompress(LogContentCodec.compress(content)), equalTo(content));
+    }
+
+    @Test
+    public void dadoStackTrace_quandoIndexar_entaoDeveManterTermosPesquisaveis() {
+        String index = LogContentCodec.index(LogDetailBuilder.STACK_TRACE);
+
+        assertThat(index, containsString("nullpointerexception"));
+        assertThat(index, containsString(LogContentCodec.searchTerms("NullPointerException: customer")));
+        assertThat(index.length(), lessThan(LogDetailBuilder.STACK_TRACE.length()));
+    }
+
+    @Test
+    public void dadoStackTrace_quandoIndexar_entaoDeveManterCadaPalavraUmaVezNaOrdemDaPrimeiraOcorrencia() {
+        String index = LogContentCodec.index(LogDetailBuilder.STACK_TRACE);
+
+        assertThat(index, containsString("java lang nullpointerexception customer must not be null at br com codenation"));
+        assertThat(index, containsString("threadpoolexecutor"));
+        assertThat(index, not(containsString(LogContentCodec.searchTerms("LogService.java:64"))));
+        assertThat(LogDetailBuilder.STACK_TRACE.toLowerCase(), containsString("logservice.java:64"));
+    }
+
+    @Test
+    public void dadoPesquisaSomenteComPontuacao_quandoGerarTermos_entaoDeveManterOTexto() {
+        assertThat(LogContentCodec.searchTerms("::"), equalTo("::"));
+    }
+
+}
@@ -0,0 +1,26 @@
+package br.com.codenation.logstackapi.model.entity;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LogCursorTest {
+
+    @Test
+    public void dadoUltimoLogDaPagina_quandoCodificarCursor_entaoDeveRecuperarTimestampEId() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+
+        String token = LogCursor.after(log).encode();
+
+        assertThat(token.matches("[A-Za-z0-9_-]+"), equalTo(true));
+        assertThat(LogCursor.decode(token), equalTo(new LogCursor(log.getDetail().getTimestamp(), log.getId())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoCursorAdulterado_quandoDecodificar_entaoDeveRecusar() {
+        LogCursor.decode("MjAxOS0wOS0zMFQxMDo1NQ");
+    }
+
+}
@@ -0,0 +1,47 @@
+package br.com.codenation.logstackapi.model.generator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class TimeOrderedUuidTest {
+
+    @Test
+    public void dadoUuidGerado_quandoInspecionar_entaoDeveSerVersao7ComVarianteRfc4122() {
+        UUID uuid = TimeOrderedUuid.generate();
+
+        assertThat(uuid.version(), equalTo(7));
+        assertThat(uuid.variant(), equalTo(2));
+        assertThat(UUID.fromString(uuid.toString()), equalTo(uuid));
+    }
+
+    @Test
+    public void dadoUuidGerado_quandoExtrairTimestamp_entaoDeveCorresponderAoRelogio() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuid.generate();
+
+        assertThat(TimeOrderedUuid.timestamp(uuid), greaterThanOrEqualTo(before));
+        assertThat(TimeOrderedUuid.timestamp(uuid), lessThanOrEqualTo(System.currentTimeMillis() + 1000));
+    }
+
+    @Test
+    public void dadoMuitosUuidsNoMesmoMilissegundo_quandoGerar_entaoDevemSerCrescentes() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            uuids.add(TimeOrderedUuid.generate());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(uuids.get(i - 1).toString().compareTo(uuids.get(i).toString()), lessThan(0));
+        }
+    }
+
+}
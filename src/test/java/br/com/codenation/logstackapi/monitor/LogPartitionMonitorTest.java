@@ -0,0 +1,85 @@
+package br.com.codenation.logstackapi.monitor;
+
+import br.com.codenation.logstackapi.model.entity.LogPartition;
+import br.com.codenation.logstackapi.repository.LogPartitionRepository;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LogPartitionMonitorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2019, 10, 2, 15, 30);
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2019, 9, 30, 0, 0);
+
+    private final LogPartitionRepository repository = Mockito.mock(LogPartitionRepository.class);
+
+    @Test
+    public void dadoSemParticoesFuturas_quandoManter_entaoDeveCriarSemanasAlinhadasNaSegunda() {
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findAll()).thenReturn(Collections.singletonList(partition(MONDAY)));
+
+        new LogPartitionMonitor(repository, ChronoUnit.WEEKS, 2, 0).maintain(NOW);
+
+        verify(repository).create(MONDAY.plusWeeks(1), MONDAY.plusWeeks(2));
+        verify(repository).create(MONDAY.plusWeeks(2), MONDAY.plusWeeks(3));
+        verify(repository, Mockito.times(2)).create(any(), any());
+        verify(repository, never()).drop(any());
+    }
+
+    @Test
+    public void dadoParticoesDiarias_quandoManter_entaoDeveCriarDiasAPartirDaUltima() {
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findAll()).thenReturn(Collections.singletonList(partition(MONDAY.minusWeeks(1))));
+
+        new LogPartitionMonitor(repository, ChronoUnit.DAYS, 1, 0).maintain(NOW);
+
+        verify(repository).create(MONDAY, MONDAY.plusDays(1));
+        verify(repository).create(MONDAY.plusDays(3), MONDAY.plusDays(4));
+        verify(repository, Mockito.times(4)).create(any(), any());
+    }
+
+    @Test
+    public void dadoRetencao_quandoManter_entaoDeveRemoverApenasParticoesInteiramenteExpiradas() {
+        LogPartition expired = partition(MONDAY.minusWeeks(3));
+        LogPartition partial = partition(MONDAY.minusWeeks(2));
+        when(repository.isPartitioned()).thenReturn(true);
+        when(repository.findAll()).thenReturn(Arrays.asList(expired, partial, partition(MONDAY.plusWeeks(5))));
+
+        new LogPartitionMonitor(repository, ChronoUnit.WEEKS, 4, 14).maintain(NOW);
+
+        verify(repository).drop(expired);
+        verify(repository, never()).drop(partial);
+        verify(repository).deleteDefaultBefore(NOW.minusDays(14));
+        verify(repository, never()).deleteBefore(any());
+    }
+
+    @Test
+    public void dadoTabelaSemParticoes_quandoManter_entaoDeveApagarLinhasExpiradas() {
+        when(repository.isPartitioned()).thenReturn(false);
+        when(repository.deleteBefore(any())).thenReturn(0);
+
+        new LogPartitionMonitor(repository, ChronoUnit.WEEKS, 4, 30).maintain(NOW);
+
+        verify(repository).deleteBefore(NOW.minusDays(30));
+        verify(repository, never()).create(any(), any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoIntervaloMensal_quandoCriar_entaoDeveRejeitar() {
+        new LogPartitionMonitor(repository, ChronoUnit.MONTHS, 4, 0);
+    }
+
+    private static LogPartition partition(LocalDateTime from) {
+        return new LogPartition("log_p" + from.toLocalDate().toString().replace("-", ""), from, from.plusWeeks(1));
+    }
+
+}
@@ -0,0 +1,94 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.LogApplicationBuilder;
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.compression.LogContentCodec;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(properties = "app.ingestion.bulk.enabled=true")
+@Transactional
+public class LogBulkRepositoryTest {
+
+    @Autowired
+    private LogBulkRepository bulkRepository;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LogApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void dadoBancoSemCopy_quandoInserirEmLote_entaoDeveGravarComInsertsEmLote() {
+        Customer customer = umCliente();
+        LogApplication application = applicationRepository.save(LogApplicationBuilder.umaAplicacao().build());
+        Log log = umLog(customer, application);
+        Log compressed = umLog(customer, application);
+        compressed.getDetail().setContent(LogDetailBuilder.STACK_TRACE);
+        compressed.getDetail().compressContent(LogContentCodec.compress(LogDetailBuilder.STACK_TRACE),
+                LogContentCodec.index(LogDetailBuilder.STACK_TRACE));
+
+        bulkRepository.insertAll(Arrays.asList(log, compressed));
+        entityManager.clear();
+
+        assertThat(log.getId(), notNullValue());
+        assertThat(logRepository.count(), equalTo(2L));
+        Log stored = logRepository.findById(compressed.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(stored.getDetail().getContent(), equalTo(LogDetailBuilder.STACK_TRACE));
+        assertThat(stored.getOccurrences(), equalTo(1));
+        assertThat(stored.getApplication().getName(), equalTo(application.getName()));
+    }
+
+    private Customer umCliente() {
+        User user = UserBuilder.codenation().build();
+        user.setId(null);
+        user = userRepository.save(user);
+        return customerRepository.save(Customer.builder()
+                .user(user)
+                .apiKey(UUID.randomUUID())
+                .createdDate(LocalDateTime.now())
+                .updatedDate(LocalDateTime.now())
+                .build());
+    }
+
+    private Log umLog(Customer customer, LogApplication application) {
+        return Log.builder()
+                .title("Título")
+                .customer(customer)
+                .application(application)
+                .detail(LogDetailBuilder.detalhe().build())
+                .build();
+    }
+
+}
@@ -0,0 +1,52 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.LogBuilder;
+import br.com.codenation.logstackapi.model.entity.Log;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LogBulkWriterTest {
+
+    @Test
+    public void dadoLogComAspasEQuebraDeLinha_quandoGerarCsv_entaoDeveEscaparOsCampos() throws IOException {
+        Log log = umLog();
+        log.setTitle("Falha \"grave\"");
+        log.getDetail().setContent("linha 1\nlinha 2");
+
+        StringWriter csv = new StringWriter();
+        LogBulkWriter.csv(csv, log);
+
+        assertThat(csv.toString(), equalTo(log.getId() + ",\"Falha \"\"grave\"\"\",false,false,2019-08-10T10:55:32.000000300,ERROR,"
+                + "\"linha 1\nlinha 2\",,,1,2019-08-10T10:55:32.000000300," + log.getCustomer().getId() + ",3,\n"));
+    }
+
+    @Test
+    public void dadoConteudoComprimido_quandoGerarCsv_entaoDeveEscreverBytesEmHexadecimal() throws IOException {
+        Log log = umLog();
+        log.getDetail().compressContent(new byte[]{1, (byte) 0xab}, "indice");
+
+        StringWriter csv = new StringWriter();
+        LogBulkWriter.csv(csv, log);
+
+        assertThat(csv.toString().split(",")[6], equalTo(""));
+        assertThat(csv.toString().split(",")[7], equalTo("\\x01ab"));
+        assertThat(csv.toString().split(",")[8], equalTo("\"indice\""));
+    }
+
+    private Log umLog() {
+        Log log = LogBuilder.umLog().comLevelError().build();
+        log.setId(UUID.fromString("0190f1c2-0000-7000-8000-000000000001"));
+        log.getApplication().setId(3L);
+        log.setOccurrences(1);
+        log.setLastSeen(log.getDetail().getTimestamp());
+        return log;
+    }
+
+}
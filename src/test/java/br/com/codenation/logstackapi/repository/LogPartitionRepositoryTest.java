@@ -0,0 +1,225 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.LogSearchBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.entity.LogPartition;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.monitor.LogPartitionMonitor;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
+
+public class LogPartitionRepositoryTest {
+
+    private static final String POSTGRES_URL = "LOGSTACK_TEST_POSTGRES_URL";
+    private static final String POSTGRES_USER = "LOGSTACK_TEST_POSTGRES_USER";
+    private static final String POSTGRES_PASSWORD = "LOGSTACK_TEST_POSTGRES_PASSWORD";
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private final LocalDateTime week = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private UUID customer;
+    private Long application;
+
+    @After
+    public void tearDown() {
+        if (dataSource != null) dataSource.destroy();
+    }
+
+    @Test
+    public void dadoBancoH2_quandoExpirarLogs_entaoDeveApagarLinhaALinha() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:partitions;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        migrate(null, "classpath:db/migration");
+        LogPartitionRepository repository = new LogPartitionRepository(dataSource);
+        UUID expired = insertLog(now.minusDays(40));
+        insertAlert(expired);
+        UUID kept = insertLog(now.minusDays(2));
+
+        Integer deleted = repository.deleteBefore(now.minusDays(30));
+
+        assertThat(repository.isPartitioned(), equalTo(false));
+        assertThat(deleted, equalTo(1));
+        assertThat(ids(), equalTo(Collections.singletonList(kept)));
+        assertThat(jdbc.queryForObject("select count(*) from alert", Long.class), equalTo(0L));
+    }
+
+    @Test
+    public void dadoPostgres_quandoMigrar_entaoDeveParticionarLogPorSemana() {
+        LogPartitionRepository repository = postgres();
+        UUID id = insertLog(now);
+
+        List<LogPartition> partitions = repository.findAll();
+
+        assertThat(repository.isPartitioned(), equalTo(true));
+        assertThat(partitions.get(0), equalTo(new LogPartition(name(week), week, week.plusWeeks(1))));
+        assertThat(partitions.size(), equalTo(5));
+        assertThat(partitionOf(id), equalTo(name(week)));
+    }
+
+    @Test
+    public void dadoLogsAntesDoParticionamento_quandoMigrar_entaoDeveCriarParticaoParaCadaSemanaComLogs() {
+        postgres("9");
+        UUID old = insertLog(week.minusWeeks(10).plusDays(2));
+        insertAlert(old);
+        UUID recent = insertLog(now);
+
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load().migrate();
+        LogPartitionRepository repository = new LogPartitionRepository(dataSource);
+
+        assertThat(repository.isPartitioned(), equalTo(true));
+        assertThat(repository.findAll().size(), equalTo(6));
+        assertThat(partitionOf(old), equalTo(name(week.minusWeeks(10))));
+        assertThat(partitionOf(recent), equalTo(name(week)));
+        assertThat(jdbc.queryForObject("select count(*) from alert where log_id = ?", Long.class, old), equalTo(1L));
+    }
+
+    @Test
+    public void dadoPostgres_quandoPesquisarPeriodo_entaoDeveLerApenasParticoesDoPeriodo() {
+        LogPartitionRepository repository = postgres();
+        repository.create(week.minusWeeks(2), week.minusWeeks(1));
+        repository.create(week.minusWeeks(1), week);
+        insertLog(week.minusWeeks(2).plusDays(1));
+        insertLog(week.minusWeeks(1).plusDays(1));
+        insertLog(now);
+
+        LogSearch search = LogSearchBuilder.umLog().build();
+        search.setUser(UserBuilder.codenation().build());
+        search.setCustomerId(customer);
+        search.setStartTimestamp(week.minusWeeks(1).plusDays(1));
+        search.setEndTimestamp(week.minusWeeks(1).plusDays(2));
+        LogTextSearchQuery query = LogTextSearchQuery.seek(search, null, 21);
+        String plan = new NamedParameterJdbcTemplate(dataSource)
+                .queryForList("explain " + query.getSql(), query.getParameters(), String.class)
+                .stream().collect(Collectors.joining("\n"));
+
+        assertThat(plan, containsString(name(week.minusWeeks(1))));
+        assertThat(plan, not(containsString(name(week.minusWeeks(2)))));
+        assertThat(plan, not(containsString(name(week))));
+        assertThat(plan, not(containsString("log_default")));
+    }
+
+    @Test
+    public void dadoLogAlemDasParticoes_quandoManter_entaoDeveCriarParticaoEMoverLinhaDoPadrao() {
+        LogPartitionRepository repository = postgres();
+        UUID future = insertLog(week.plusWeeks(6).plusDays(3));
+        assertThat(partitionOf(future), equalTo("log_default"));
+
+        new LogPartitionMonitor(repository, ChronoUnit.WEEKS, 8, 0).maintain(now);
+
+        List<String> names = repository.findAll().stream().map(LogPartition::getName).collect(Collectors.toList());
+        assertThat(names.size(), equalTo(9));
+        assertThat(names, hasItem(name(week.plusWeeks(8))));
+        assertThat(partitionOf(future), equalTo(name(week.plusWeeks(6))));
+    }
+
+    @Test
+    public void dadoRetencao_quandoManter_entaoDeveRemoverParticoesExpiradasInteiras() {
+        LogPartitionRepository repository = postgres();
+        repository.create(week.minusWeeks(8), week.minusWeeks(7));
+        repository.create(week.minusWeeks(1), week);
+        UUID expired = insertLog(week.minusWeeks(8).plusDays(1));
+        insertAlert(expired);
+        insertLog(week.minusWeeks(20));
+        UUID kept = insertLog(week.minusWeeks(1).plusDays(1));
+
+        new LogPartitionMonitor(repository, ChronoUnit.WEEKS, 4, 30).maintain(now);
+
+        List<String> names = repository.findAll().stream().map(LogPartition::getName).collect(Collectors.toList());
+        assertThat(names, not(hasItem(name(week.minusWeeks(8)))));
+        assertThat(names, hasItem(name(week.minusWeeks(1))));
+        assertThat(ids(), equalTo(Collections.singletonList(kept)));
+        assertThat(jdbc.queryForObject("select count(*) from alert", Long.class), equalTo(0L));
+    }
+
+    private LogPartitionRepository postgres() {
+        return postgres(null);
+    }
+
+    private LogPartitionRepository postgres(String target) {
+        String url = setting(POSTGRES_URL, null);
+        assumeNotNull(url);
+
+        dataSource = new SingleConnectionDataSource(url, setting(POSTGRES_USER, "postgres"),
+                setting(POSTGRES_PASSWORD, "postgres"), true);
+        jdbc = new JdbcTemplate(dataSource);
+        assumeTrue(jdbc.queryForObject("show server_version_num", Integer.class) >= 110000);
+        jdbc.execute("drop schema public cascade");
+        jdbc.execute("create schema public");
+        migrate(target, "classpath:db/migration", "classpath:db/vendor/postgresql");
+        return new LogPartitionRepository(dataSource);
+    }
+
+    private void migrate(String target, String... locations) {
+        jdbc = new JdbcTemplate(dataSource);
+        FluentConfiguration flyway = Flyway.configure().dataSource(dataSource).locations(locations);
+        if (target != null) flyway.target(target);
+        flyway.load().migrate();
+
+        User user = UserBuilder.codenation().build();
+        customer = UUID.randomUUID();
+        Timestamp created = Timestamp.valueOf(now);
+        jdbc.update("insert into users (id, email, full_name, \"password\") values (?, ?, ?, ?)",
+                user.getId(), user.getEmail(), user.getFullName(), user.getPassword());
+        jdbc.update("insert into customer (id, api_key, created_date, updated_date, user_id) values (?, ?, ?, ?, ?)",
+                customer, UUID.randomUUID(), created, created, user.getId());
+        jdbc.update("insert into application (name, host, ip, environment) values ('app', 'host', '127.0.0.1', 'PRODUCTION')");
+        application = jdbc.queryForObject("select id from application", Long.class);
+    }
+
+    private UUID insertLog(LocalDateTime timestamp) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into log (id, title, \"content\", \"level\", \"timestamp\", archived, check_alert, " +
+                        "occurrences, customer_id, application_id) values (?, 'Request', 'GET /', 'ERROR', ?, false, false, 1, ?, ?)",
+                id, Timestamp.valueOf(timestamp), customer, application);
+        return id;
+    }
+
+    private void insertAlert(UUID log) {
+        jdbc.update("insert into alert (id, visualized, log_id) values (?, false, ?)", UUID.randomUUID(), log);
+    }
+
+    private List<UUID> ids() {
+        return jdbc.queryForList("select id from log", UUID.class);
+    }
+
+    private String partitionOf(UUID id) {
+        return jdbc.queryForObject("select tableoid::regclass::text from log where id = ?", String.class, id);
+    }
+
+    private static String name(LocalDateTime from) {
+        return "log_p" + from.toLocalDate().toString().replace("-", "");
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty(name, System.getenv(name));
+        return value == null ? defaultValue : value;
+    }
+
+}
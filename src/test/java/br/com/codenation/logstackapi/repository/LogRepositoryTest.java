@@ -0,0 +1,149 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.LogApplicationBuilder;
+import br.com.codenation.logstackapi.builders.LogDetailBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+@Transactional
+public class LogRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2019, 9, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2019, 9, 30, 23, 59, 59);
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LogApplicationRepository applicationRepository;
+
+    @Test
+    public void dadoLogsComTimestampsRepetidos_quandoPercorrerPorCursor_entaoDeveVisitarCadaLogUmaVez() {
+        Customer customer = umCliente();
+        LogApplication application = applicationRepository.save(LogApplicationBuilder.umaAplicacao().build());
+        List<Log> logs = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Log log = Log.builder()
+                    .title("Título")
+                    .customer(customer)
+                    .application(application)
+                    .archived(false)
+                    .checkAlert(false)
+                    .detail(LogDetailBuilder.detalhe().build())
+                    .build();
+            log.getDetail().setTimestamp(LocalDateTime.of(2019, 9, 10, 10, i / 2));
+            logs.add(logRepository.save(log));
+        }
+
+        LogSearch search = LogSearch.builder().user(customer.getUser()).startTimestamp(START).endTimestamp(END).build();
+        PageRequest pageRequest = PageRequest.of(0, 3, LogSpecifications.SEEK_ORDER);
+
+        List<UUID> visited = new ArrayList<>();
+        Slice<Log> slice = logRepository.findSlice(LogSpecifications.of(search), pageRequest);
+        visited.addAll(ids(slice));
+        while (slice.hasNext()) {
+            LogCursor after = LogCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1));
+            slice = logRepository.findSlice(LogSpecifications.of(search).and(LogSpecifications.after(after)), pageRequest);
+            visited.addAll(ids(slice));
+        }
+
+        Map<UUID, LocalDateTime> timestamps = logs.stream()
+                .collect(Collectors.toMap(Log::getId, log -> log.getDetail().getTimestamp()));
+        List<LocalDateTime> order = visited.stream().map(timestamps::get).collect(Collectors.toList());
+        assertThat(visited.size(), equalTo(7));
+        assertThat(new HashSet<>(visited), equalTo(timestamps.keySet()));
+        assertThat(order, equalTo(order.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList())));
+    }
+
+    @Test
+    public void dadoFiltrosInformados_quandoPesquisar_entaoDeveRetornarApenasLogsCorrespondentes() {
+        Customer customer = umCliente();
+        LogApplication application = LogApplicationBuilder.umaAplicacao().build();
+        application.setName("search-" + UUID.randomUUID());
+        application = applicationRepository.save(application);
+        Log esperado = logRepository.save(umLog(customer, application, "Request timeout", LogLevel.ERROR));
+        logRepository.save(umLog(customer, application, "Request timeout", LogLevel.WARNING));
+        logRepository.save(umLog(customer, application, "Request completed", LogLevel.ERROR));
+
+        LogSearch search = LogSearch.builder()
+                .user(customer.getUser())
+                .title("timeout")
+                .level(LogLevel.ERROR)
+                .environment(application.getEnvironment())
+                .startTimestamp(START)
+                .endTimestamp(END)
+                .build();
+        Page<Log> page = logRepository.findAll(LogSpecifications.of(search), PageRequest.of(0, 20));
+
+        assertThat(page.getTotalElements(), equalTo(1L));
+        assertThat(page.getContent().get(0).getId(), equalTo(esperado.getId()));
+    }
+
+    private List<UUID> ids(Slice<Log> slice) {
+        return slice.getContent().stream().map(Log::getId).collect(Collectors.toList());
+    }
+
+    private Log umLog(Customer customer, LogApplication application, String title, LogLevel level) {
+        Log log = Log.builder()
+                .title(title)
+                .customer(customer)
+                .application(application)
+                .archived(false)
+                .checkAlert(false)
+                .detail(LogDetailBuilder.detalhe().build())
+                .build();
+        log.getDetail().setLevel(level);
+        log.getDetail().setTimestamp(LocalDateTime.of(2019, 9, 10, 10, 0));
+        return log;
+    }
+
+    private Customer umCliente() {
+        User user = UserBuilder.codenation().build();
+        user.setId(null);
+        user = userRepository.save(user);
+        return customerRepository.save(Customer.builder()
+                .user(user)
+                .apiKey(UUID.randomUUID())
+                .createdDate(LocalDateTime.now())
+                .updatedDate(LocalDateTime.now())
+                .build());
+    }
+
+}
@@ -0,0 +1,134 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.codenation.logstackapi.repository.SqlCapture"
+})
+public class LogSearchPlanTest {
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void dadoApenasPeriodo_quandoPesquisar_entaoNaoDeveTestarFiltrosAusentes() {
+        String sql = capture(umaPesquisa());
+
+        assertThat(sql, containsString(".customer_id=?"));
+        assertThat(sql, not(containsString(" customer ")));
+        assertThat(sql, not(containsString(" is null")));
+        assertThat(sql, not(containsString(" application ")));
+        assertThat(sql, not(containsString(" like ")));
+        assertThat(explain(sql), not(containsString("tableScan")));
+    }
+
+    @Test
+    public void dadoNivelEAmbiente_quandoPesquisar_entaoDeveCompararPorIgualdade() {
+        LogSearch search = umaPesquisa();
+        search.setLevel(LogLevel.ERROR);
+        search.setEnvironment(LogEnvironment.PRODUCTION);
+
+        String sql = capture(search);
+
+        assertThat(sql, containsString(".level=?"));
+        assertThat(sql, containsString(".environment=?"));
+        assertThat(sql, not(containsString(" like ")));
+        assertThat(explain(sql), not(containsString("tableScan")));
+    }
+
+    @Test
+    public void dadoTitulo_quandoPesquisar_entaoNaoDeveJuntarAplicacao() {
+        LogSearch search = umaPesquisa();
+        search.setTitle("timeout");
+
+        String sql = capture(search);
+
+        assertThat(sql, containsString(".title) like ?"));
+        assertThat(sql, not(containsString(" application ")));
+        assertThat(explain(sql), not(containsString("tableScan")));
+    }
+
+    @Test
+    public void dadoNomeEHostDaAplicacao_quandoPesquisar_entaoDeveFiltrarApenasEssesCampos() {
+        LogSearch search = umaPesquisa();
+        search.setAppName("api");
+        search.setHost("localhost");
+
+        String sql = capture(search);
+
+        assertThat(sql, containsString(".name) like ?"));
+        assertThat(sql, containsString(".host) like ?"));
+        assertThat(sql, not(containsString(".ip) like ?")));
+        assertThat(sql, not(containsString(".environment=?")));
+        assertThat(explain(sql), not(containsString("tableScan")));
+    }
+
+    @Test
+    public void dadoConteudo_quandoPesquisar_entaoDeveConsultarConteudoEIndiceDePalavras() {
+        LogSearch search = umaPesquisa();
+        search.setContent("Connection refused");
+
+        String sql = capture(search);
+
+        assertThat(sql, containsString(".content) like ?"));
+        assertThat(sql, containsString(".content_search like ?"));
+        assertThat(sql, not(containsString(" application ")));
+        assertThat(explain(sql), not(containsString("tableScan")));
+    }
+
+    @Test
+    public void dadoUsuarioSemCliente_quandoPesquisar_entaoDeveFiltrarPeloUsuarioDoCliente() {
+        LogSearch search = umaPesquisa();
+        search.setCustomerId(null);
+
+        String sql = capture(search);
+
+        assertThat(sql, containsString(" customer "));
+        assertThat(sql, containsString(".user_id=?"));
+    }
+
+    private LogSearch umaPesquisa() {
+        return LogSearch.builder()
+                .user(UserBuilder.codenation().build())
+                .customerId(UUID.randomUUID())
+                .startTimestamp(LocalDateTime.of(2019, 9, 1, 0, 0))
+                .endTimestamp(LocalDateTime.of(2019, 9, 30, 23, 59, 59))
+                .build();
+    }
+
+    private String capture(LogSearch search) {
+        SqlCapture.clear();
+        logRepository.findSlice(LogSpecifications.of(search), PageRequest.of(0, 20, LogSpecifications.SEEK_ORDER));
+        return SqlCapture.lastQuery();
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+}
@@ -0,0 +1,251 @@
+package br.com.codenation.logstackapi.repository;
+
+import br.com.codenation.logstackapi.builders.LogSearchBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.entity.LogCursor;
+import br.com.codenation.logstackapi.model.entity.LogSearch;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.model.enums.LogSearchMatch;
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+public class LogTextSearchRepositoryTest {
+
+    private static final String POSTGRES_URL = "LOGSTACK_TEST_POSTGRES_URL";
+    private static final String POSTGRES_USER = "LOGSTACK_TEST_POSTGRES_USER";
+    private static final String POSTGRES_PASSWORD = "LOGSTACK_TEST_POSTGRES_PASSWORD";
+    private static final Integer LOGS = 20000;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "detail.timestamp"));
+
+    private SingleConnectionDataSource dataSource;
+    private LocalDateTime timestamp;
+    private UUID customer;
+
+    @After
+    public void tearDown() {
+        if (dataSource != null) dataSource.destroy();
+    }
+
+    @Test
+    public void dadoBancoH2_quandoPesquisarPorConteudo_entaoDeveUsarConsultaPadrao() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:text-search", "sa", "", true);
+        LogTextSearchRepository repository = new LogTextSearchRepository(dataSource, Mockito.mock(LogRepository.class), true);
+
+        LogSearch search = LogSearchBuilder.umLog().build();
+        search.setContent("connection refused");
+
+        assertThat(repository.supports(search, pageable), equalTo(false));
+    }
+
+    @Test
+    public void dadoPostgres_quandoPesquisarTrechoDoTitulo_entaoDeveUsarIndiceDeTrigramas() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setTitle("timeout");
+
+        assertThat(explain(search), containsString("log_title_trgm_idx"));
+        assertThat(count(search), equalTo(50L));
+    }
+
+    @Test
+    public void dadoPostgres_quandoPesquisarTrechoDoConteudo_entaoDeveUsarIndicesDeTrigramas() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setContent("Connection refused");
+
+        String plan = explain(search);
+
+        assertThat(plan, containsString("log_content_trgm_idx"));
+        assertThat(plan, containsString("log_content_search_trgm_idx"));
+        assertThat(count(search), equalTo(50L));
+    }
+
+    @Test
+    public void dadoPostgres_quandoPesquisarPalavrasDoConteudo_entaoDeveUsarIndiceTextual() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setContent("refused pool");
+        search.setMatch(LogSearchMatch.WORDS);
+
+        assertThat(explain(search), containsString("log_content_vector_idx"));
+        assertThat(count(search), equalTo(50L));
+    }
+
+    @Test
+    public void dadoPostgres_quandoPercorrerPorCursor_entaoDeveContinuarAposUltimoLog() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setTitle("timeout");
+        search.setCustomerId(customer);
+
+        List<UUID> primeira = ids(LogTextSearchQuery.seek(search, null, 21));
+        LogCursor after = new LogCursor(timestamp, primeira.get(19));
+        List<UUID> restantes = ids(LogTextSearchQuery.seek(search, after, 100));
+
+        String plan = explain(LogTextSearchQuery.seek(search, after, 21));
+        assertThat(plan, containsString("Index Cond"));
+        assertThat(plan, containsString("ROW(\"timestamp\", id) < ROW("));
+        assertThat(restantes.size(), equalTo(30));
+        assertThat(restantes.get(0), equalTo(primeira.get(20)));
+    }
+
+    @Test
+    public void dadoPostgres_quandoListarLinhaDoTempoDoCliente_entaoDeveUsarIndiceParcialSemJuntarCliente() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setCustomerId(customer);
+
+        LogTextSearchQuery query = LogTextSearchQuery.seek(search, null, 21);
+        String plan = explain(query);
+
+        assertThat(query.getSql(), not(containsString("join customer")));
+        assertThat(plan, containsString("log_customer_timeline_idx"));
+        assertThat(plan, not(containsString("Sort  (")));
+        assertThat(ids(query).size(), equalTo(21));
+    }
+
+    @Test
+    public void dadoPostgres_quandoEstimarTotal_entaoDeveUsarEstimativaDoPlanejador() {
+        User user = postgres();
+        LogSearch search = umaPesquisa(user);
+        search.setCustomerId(customer);
+        LogTextSearchRepository repository = new LogTextSearchRepository(dataSource, Mockito.mock(LogRepository.class), true);
+
+        new JdbcTemplate(dataSource).batchUpdate("analyze customer", "analyze application");
+
+        Long total = repository.estimate(search).orElse(0L);
+        Long exact = count(search);
+
+        assertThat(total > exact / 2 && total < exact * 2, equalTo(true));
+    }
+
+    private User postgres() {
+        String url = setting(POSTGRES_URL, null);
+        assumeNotNull(url);
+
+        dataSource = new SingleConnectionDataSource(url, setting(POSTGRES_USER, "postgres"),
+                setting(POSTGRES_PASSWORD, "postgres"), true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop schema public cascade");
+        jdbc.execute("create schema public");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/postgresql")
+                .load()
+                .migrate();
+
+        LogTextSearchRepository repository = new LogTextSearchRepository(dataSource, Mockito.mock(LogRepository.class), true);
+        User user = UserBuilder.codenation().build();
+        LogSearch search = umaPesquisa(user);
+        search.setContent("refused");
+        assertThat(repository.supports(search, pageable), equalTo(true));
+
+        insertLogs(user);
+        jdbc.execute("vacuum analyze log");
+        return user;
+    }
+
+    private void insertLogs(User user) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        customer = UUID.randomUUID();
+        timestamp = LocalDateTime.now().withNano(0);
+        Timestamp now = Timestamp.valueOf(timestamp);
+        jdbc.update("insert into users (id, email, full_name, \"password\") values (?, ?, ?, ?)",
+                user.getId(), user.getEmail(), user.getFullName(), user.getPassword());
+        jdbc.update("insert into customer (id, api_key, created_date, updated_date, user_id) values (?, ?, ?, ?, ?)",
+                customer, UUID.randomUUID(), now, now, user.getId());
+        User otherUser = UserBuilder.codenation().build();
+        UUID other = UUID.randomUUID();
+        jdbc.update("insert into users (id, email, full_name, \"password\") values (?, ?, ?, ?)",
+                otherUser.getId(), "other@logstack", otherUser.getFullName(), otherUser.getPassword());
+        jdbc.update("insert into customer (id, api_key, created_date, updated_date, user_id) values (?, ?, ?, ?, ?)",
+                other, UUID.randomUUID(), now, now, otherUser.getId());
+        jdbc.update("insert into application (name, host, ip, environment) values ('app', 'host', '127.0.0.1', 'PRODUCTION')");
+        Long application = jdbc.queryForObject("select id from application", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < LOGS; i++) {
+            Boolean match = i % 400 == 0;
+            String title = match ? "Request timeout on /orders" : "Request " + i + " completed";
+            String content = match
+                    ? "java.net.ConnectException: Connection refused by pool " + i
+                    : "GET /orders/" + i + " returned 200 in " + i % 97 + " ms";
+            UUID owner = match || i % 10 == 1 ? customer : other;
+            rows.add(new Object[]{UUID.randomUUID(), title, content, now, owner, application});
+        }
+        jdbc.batchUpdate("insert into log (id, title, \"content\", \"level\", \"timestamp\", archived, check_alert, " +
+                "occurrences, customer_id, application_id) values (?, ?, ?, 'ERROR', ?, false, false, 1, ?, ?)", rows);
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty(name, System.getenv(name));
+        return value == null ? defaultValue : value;
+    }
+
+    private LogSearch umaPesquisa(User user) {
+        LogSearch search = LogSearchBuilder.umLog().build();
+        search.setUser(user);
+        search.setTitle(null);
+        search.setAppName(null);
+        search.setHost(null);
+        search.setIp(null);
+        search.setEnvironment(null);
+        search.setLevel(null);
+        search.setStartTimestamp(LocalDateTime.now().minusDays(1));
+        search.setEndTimestamp(LocalDateTime.now().plusDays(1));
+        return search;
+    }
+
+    private String explain(LogSearch search) {
+        return explain(LogTextSearchQuery.of(search, pageable));
+    }
+
+    private String explain(LogTextSearchQuery query) {
+        String plan = new NamedParameterJdbcTemplate(dataSource)
+                .queryForList("explain " + query.getSql(), query.getParameters(), String.class)
+                .stream().collect(Collectors.joining("\n"));
+        List<Map<String, Object>> partitionIndexes = new JdbcTemplate(dataSource).queryForList(
+                "select i.inhrelid::regclass::text as partition, i.inhparent::regclass::text as parent " +
+                        "from pg_inherits i join pg_class c on c.oid = i.inhparent where c.relkind = 'I' " +
+                        "order by length(i.inhrelid::regclass::text) desc");
+        for (Map<String, Object> index : partitionIndexes) {
+            plan = plan.replace((String) index.get("partition"), (String) index.get("parent"));
+        }
+        return plan;
+    }
+
+    private List<UUID> ids(LogTextSearchQuery query) {
+        return new NamedParameterJdbcTemplate(dataSource)
+                .queryForList(query.getSql(), query.getParameters(), UUID.class);
+    }
+
+    private Long count(LogSearch search) {
+        LogTextSearchQuery query = LogTextSearchQuery.of(search, pageable);
+        return new NamedParameterJdbcTemplate(dataSource)
+                .queryForObject(query.getCountSql(), query.getParameters(), Long.class);
+    }
+
+}
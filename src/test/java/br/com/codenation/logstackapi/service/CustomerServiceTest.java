@@ -17,9 +17,11 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 
 @ActiveProfiles("test")
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -50,7 +52,7 @@ public class CustomerServiceTest {
     public void dadoApiKey_quandoPesquisarPorApiKey_entaoDeveRetornarCustomer(){
         Customer customer = CustomerBuilder.codenation().build();
 
-        Mockito.when(customerService.findByApiKey(customer.getApiKey())).thenReturn(java.util.Optional.of(customer));
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(java.util.Optional.of(customer));
 
         Customer customerResponse = customerService.findByApiKey(customer.getApiKey()).orElse(null);
 
@@ -62,7 +64,7 @@ public class CustomerServiceTest {
     public void dadoApiKeyInexistente_quandoPesquisarPorApiKey_entaoDeveRetornarErro(){
         Customer customer = CustomerBuilder.codenation().build();
 
-        Mockito.when(customerService.findByApiKey(customer.getApiKey())).thenReturn(java.util.Optional.of(customer));
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(java.util.Optional.of(customer));
 
         Customer customerResponse = customerService.findByApiKey(UUID.randomUUID()).orElse(null);
 
@@ -86,4 +88,50 @@ public class CustomerServiceTest {
         assertThat(listCustomerResponse.stream().filter(c -> c.getApiKey().equals(umCustomer.getApiKey())).count(), Matchers.equalTo(1L));
         assertThat(listCustomerResponse.stream().filter(c -> c.getApiKey().equals(UUID.randomUUID())).count(), Matchers.equalTo(0L));
     }
+
+    @Test
+    public void dadoApiKeyPesquisada_quandoPesquisarNovamente_entaoDeveUsarCache() {
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByApiKey(customer.getApiKey())).thenReturn(Optional.of(customer));
+
+        customerService.findByApiKey(customer.getApiKey());
+        Customer customerResponse = customerService.findByApiKey(customer.getApiKey()).orElse(null);
+
+        assertThat(customerResponse, Matchers.equalTo(customer));
+        Mockito.verify(customerRepository, Mockito.times(1)).findByApiKey(customer.getApiKey());
+    }
+
+    @Test
+    public void dadoApiKeyInvalida_quandoPesquisarNovamente_entaoDeveUsarCacheNegativo() {
+        UUID apiKey = UUID.randomUUID();
+
+        Mockito.when(customerRepository.findByApiKey(apiKey)).thenReturn(Optional.empty());
+
+        customerService.findByApiKey(apiKey);
+        Optional<Customer> customerResponse = customerService.findByApiKey(apiKey);
+
+        assertThat(customerResponse.isPresent(), Matchers.equalTo(false));
+        Mockito.verify(customerRepository, Mockito.times(1)).findByApiKey(apiKey);
+    }
+
+    @Test
+    public void dadoApiKeyEmCache_quandoGerarNovaChave_entaoDeveInvalidarChaveAnterior() {
+        Customer customer = CustomerBuilder.codenation().build();
+        User user = customer.getUser();
+        UUID apiKeyAnterior = customer.getApiKey();
+
+        Mockito.when(customerRepository.findByApiKey(apiKeyAnterior)).thenReturn(Optional.of(customer));
+        Mockito.when(customerRepository.findByUser(user)).thenReturn(Optional.of(customer));
+        Mockito.when(customerRepository.save(any(Customer.class))).thenAnswer(i -> i.getArgument(0));
+
+        customerService.findByApiKey(apiKeyAnterior);
+        Customer customerResponse = customerService.rotateApiKey(user);
+
+        Mockito.when(customerRepository.findByApiKey(apiKeyAnterior)).thenReturn(Optional.empty());
+
+        assertThat(customerResponse.getApiKey(), Matchers.not(Matchers.equalTo(apiKeyAnterior)));
+        assertThat(customerService.findByApiKey(apiKeyAnterior).isPresent(), Matchers.equalTo(false));
+        Mockito.verify(customerRepository, Mockito.times(2)).findByApiKey(apiKeyAnterior);
+    }
 }
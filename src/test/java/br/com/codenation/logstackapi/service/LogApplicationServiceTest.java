@@ -0,0 +1,77 @@
+package br.com.codenation.logstackapi.service;
+
+import br.com.codenation.logstackapi.builders.LogApplicationBuilder;
+import br.com.codenation.logstackapi.cache.ApplicationCache;
+import br.com.codenation.logstackapi.model.entity.LogApplication;
+import br.com.codenation.logstackapi.repository.LogApplicationRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+public class LogApplicationServiceTest {
+
+    @MockBean
+    private LogApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationCache applicationCache;
+
+    @Autowired
+    private LogApplicationService applicationService;
+
+    @Before
+    public void setUp() {
+        applicationCache.invalidateAll();
+    }
+
+    @Test
+    public void dadoAplicacaoJaCadastrada_quandoResolver_entaoDeveConsultarApenasUmaVez() {
+        LogApplication stored = LogApplicationBuilder.umaAplicacao().build();
+        stored.setId(7L);
+        LogApplication application = LogApplicationBuilder.umaAplicacao().build();
+        Mockito.when(applicationRepository.findByNameAndHostAndIpAndEnvironment(
+                application.getName(), application.getHost(), application.getIp(), application.getEnvironment()))
+                .thenReturn(Optional.of(stored));
+
+        applicationService.resolve(application);
+        LogApplication resolved = applicationService.resolve(LogApplicationBuilder.umaAplicacao().build());
+
+        assertThat(resolved.getId(), equalTo(7L));
+        Mockito.verify(applicationRepository, Mockito.times(1))
+                .findByNameAndHostAndIpAndEnvironment(any(), any(), any(), any());
+    }
+
+    @Test
+    public void dadoAplicacaoNova_quandoResolver_entaoDeveCadastrar() {
+        LogApplication application = LogApplicationBuilder.umaAplicacao().build();
+        Mockito.when(applicationRepository.findByNameAndHostAndIpAndEnvironment(any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(applicationRepository.save(any(LogApplication.class))).thenAnswer(invocation -> {
+            LogApplication saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        LogApplication resolved = applicationService.resolve(application);
+
+        assertThat(resolved.getId(), equalTo(1L));
+        assertThat(resolved.getName(), equalTo(application.getName()));
+        Mockito.verify(applicationRepository).save(any(LogApplication.class));
+    }
+
+}
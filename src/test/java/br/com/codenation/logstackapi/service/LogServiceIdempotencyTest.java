@@ -0,0 +1,101 @@
+package br.com.codenation.logstackapi.service;
+
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.ingestion.LogIdempotencyIndex;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogBatchItem;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.repository.CustomerRepository;
+import br.com.codenation.logstackapi.repository.LogRepository;
+import br.com.codenation.logstackapi.repository.UserRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+public class LogServiceIdempotencyTest {
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private LogIdempotencyIndex idempotencyIndex;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private User user;
+    private Customer customer;
+
+    @Before
+    public void setUp() {
+        user = UserBuilder.codenation().build();
+        user.setId(null);
+        user.setEmail(UUID.randomUUID() + "@logstack.com");
+        user = userRepository.save(user);
+        customer = customerRepository.save(Customer.builder()
+                .user(user)
+                .apiKey(UUID.randomUUID())
+                .createdDate(LocalDateTime.now())
+                .updatedDate(LocalDateTime.now())
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        logRepository.deleteAll(logsDoCliente());
+        customerRepository.delete(customer);
+        userRepository.delete(user);
+    }
+
+    @Test
+    public void dadoLogJaGravado_quandoReenviarComMesmaChave_entaoDeveRetornarLogOriginal() {
+        Log original = logService.add(customer.getApiKey(), LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-1").build());
+
+        Log retry = logService.add(customer.getApiKey(), LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-1").build());
+
+        assertThat(retry.getId(), equalTo(original.getId()));
+        assertThat(logsDoCliente().size(), equalTo(1));
+    }
+
+    @Test
+    public void dadoChaveForaDaMemoria_quandoReenviar_entaoDeveRecuperarLogPelaRestricaoUnica() {
+        Log original = logService.add(customer.getApiKey(), LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-1").build());
+        idempotencyIndex.invalidateAll();
+
+        List<LogBatchItem> items = logService.addAll(customer.getApiKey(), Arrays.asList(
+                LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-1").build(),
+                LogRequestDTOBuilder.umLog().comChaveIdempotencia("envio-2").build()));
+
+        assertThat(items.get(0).getLog().getId(), equalTo(original.getId()));
+        assertThat(logsDoCliente().size(), equalTo(2));
+    }
+
+    private List<Log> logsDoCliente() {
+        return logRepository.findByCustomerIdAndIdempotencyKeyIn(customer.getId(), Arrays.asList("envio-1", "envio-2"));
+    }
+
+}
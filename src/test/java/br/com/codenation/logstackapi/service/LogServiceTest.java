@@ -9,6 +9,7 @@ import br.com.codenation.logstackapi.exception.ResourceNotFoundException;
 import br.com.codenation.logstackapi.mappers.LogMapper;
 import br.com.codenation.logstackapi.model.entity.Customer;
 import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.LogBatchItem;
 import br.com.codenation.logstackapi.model.entity.LogSearch;
 import br.com.codenation.logstackapi.repository.CustomerRepository;
 import br.com.codenation.logstackapi.repository.LogRepository;
@@ -21,16 +22,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.junit.Assert.assertThat;
 
 @ActiveProfiles("test")
@@ -132,7 +138,7 @@ public class LogServiceTest {
         log.setCheckAlert(false);
 
         Mockito.when(customerRepository.findByApiKey(apiKey)).thenReturn(Optional.of(customer));
-        Mockito.when(logRepository.save(log)).thenReturn(log);
+        Mockito.when(logRepository.save(Mockito.any(Log.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Log result = logService.add(apiKey, dto);
 
@@ -168,7 +174,7 @@ public class LogServiceTest {
 
         Page<Log> page = new PageImpl<>(logs);
 
-        Mockito.when(logService.find(search, 1, 2, Sort.by(Sort.Order.desc("title")))).thenReturn(page);
+        Mockito.when(logRepository.findAll(Mockito.<Specification<Log>>any(), any(Pageable.class))).thenReturn(page);
 
         Page<Log> pageResponse = logService.find(search, 1, 2, Sort.by(Sort.Order.desc("title")));
 
@@ -176,4 +182,56 @@ public class LogServiceTest {
         assertThat(pageResponse.getTotalElements(), equalTo(2L));
         assertThat(pageResponse.stream().filter(c -> c.getTitle().equals("Título")).count(), equalTo(2L));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void dadoUsuarioComCliente_quandoPesquisarLogs_entaoDeveFiltrarPeloCliente() {
+
+        LogSearch search = LogSearchBuilder.umLog().build();
+        Customer customer = CustomerBuilder.codenation().build();
+
+        Mockito.when(customerRepository.findByUser(search.getUser())).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.findAll(Mockito.<Specification<Log>>any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        logService.find(search, 0, 20, Sort.by(Sort.Order.desc("detail.timestamp")));
+
+        assertThat(search.getCustomerId(), equalTo(customer.getId()));
+    }
+
+    @Test
+    public void dadoLoteDeLogs_quandoSalvar_entaoDeveRetornarResultadoPorItem() {
+
+        Customer customer = CustomerBuilder.codenation().build();
+        UUID apiKey = customer.getApiKey();
+
+        LogRequestDTO valido = LogRequestDTOBuilder.umLog().build();
+        LogRequestDTO semTitulo = LogRequestDTOBuilder.umLog().build();
+        semTitulo.setTitle(null);
+
+        Mockito.when(customerRepository.findByApiKey(apiKey)).thenReturn(Optional.of(customer));
+        Mockito.when(logRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        List<LogBatchItem> result = logService.addAll(apiKey, Arrays.asList(valido, semTitulo, valido));
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.get(0).isAccepted(), equalTo(true));
+        assertThat(result.get(0).getLog().getCustomer(), equalTo(customer));
+        assertThat(result.get(1).isAccepted(), equalTo(false));
+        assertThat(result.get(1).getLog(), Matchers.nullValue());
+        assertThat(result.get(1).getErrors(), Matchers.contains("title: must not be null"));
+        assertThat(result.get(2).isAccepted(), equalTo(true));
+        Mockito.verify(customerRepository, Mockito.times(1)).findByApiKey(apiKey);
+        Mockito.verify(logRepository, Mockito.times(1)).saveAll(anyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoLoteVazio_quandoSalvar_entaoDeveRetornarErro() {
+        logService.addAll(UUID.randomUUID(), Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dadoLoteComApiKeyInvalida_quandoSalvar_entaoDeveRetornarErro() {
+        Mockito.when(customerRepository.findByApiKey(Mockito.any())).thenReturn(Optional.empty());
+        logService.addAll(UUID.randomUUID(), Collections.singletonList(LogRequestDTOBuilder.umLog().build()));
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.codenation.logstackapi.service;
+
+import br.com.codenation.logstackapi.builders.LogRequestDTOBuilder;
+import br.com.codenation.logstackapi.builders.UserBuilder;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.entity.User;
+import br.com.codenation.logstackapi.repository.CustomerRepository;
+import br.com.codenation.logstackapi.repository.LogRepository;
+import br.com.codenation.logstackapi.repository.UserRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@ActiveProfiles("test")
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(properties = "app.ingestion.dedup.enabled=true")
+public class LogServiceTransactionTest {
+
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private User user;
+    private Customer customer;
+
+    @Before
+    public void setUp() {
+        user = UserBuilder.codenation().build();
+        user.setId(null);
+        user.setEmail(UUID.randomUUID() + "@logstack.com");
+        user = userRepository.save(user);
+        customer = customerRepository.save(Customer.builder()
+                .user(user)
+                .apiKey(UUID.randomUUID())
+                .createdDate(LocalDateTime.now())
+                .updatedDate(LocalDateTime.now())
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        logRepository.deleteAll(logsDoCliente());
+        customerRepository.delete(customer);
+        userRepository.delete(user);
+    }
+
+    @Test
+    public void dadoLoteComLogRecusado_quandoGravar_entaoNaoDeveSomarOcorrenciasDosRepetidos() {
+        Log original = logService.add(customer.getApiKey(), LogRequestDTOBuilder.umLog().build());
+        Log repeat = logService.prepare(customer.getApiKey(), LogRequestDTOBuilder.umLog().build());
+        Log rejected = logService.prepare(customer.getApiKey(), LogRequestDTOBuilder.umLog().build());
+        rejected.setTitle(String.join("", Collections.nCopies(256, "a")));
+
+        try {
+            logService.saveAll(Arrays.asList(repeat, rejected));
+            fail();
+        } catch (DataIntegrityViolationException e) {
+            assertThat(logsDoCliente().size(), equalTo(1));
+            assertThat(logRepository.findById(original.getId()).get().getOccurrences(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void dadoLogRepetidoNaJanela_quandoGravar_entaoDeveSomarOcorrenciasNoOriginal() {
+        Log original = logService.add(customer.getApiKey(), LogRequestDTOBuilder.umLog().build());
+        Log repeat = logService.prepare(customer.getApiKey(), LogRequestDTOBuilder.umLog().build());
+
+        List<Log> saved = logService.saveAll(Collections.singletonList(repeat));
+
+        assertThat(saved.get(0).getId(), equalTo(original.getId()));
+        assertThat(logsDoCliente().size(), equalTo(1));
+        assertThat(logRepository.findById(original.getId()).get().getOccurrences(), equalTo(2));
+    }
+
+    private List<Log> logsDoCliente() {
+        return logRepository.findAll().stream()
+                .filter(log -> log.getCustomer().getId().equals(customer.getId()))
+                .collect(Collectors.toList());
+    }
+
+}
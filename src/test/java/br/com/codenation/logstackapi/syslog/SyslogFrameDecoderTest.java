@@ -0,0 +1,46 @@
+package br.com.codenation.logstackapi.syslog;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class SyslogFrameDecoderTest {
+
+    @Test
+    public void dadoQuadrosComContagemDeOctetos_quandoDecodificar_entaoDeveSepararMensagens() {
+        SyslogFrameDecoder decoder = new SyslogFrameDecoder(1024);
+
+        List<String> frames = decoder.decode(buffer("9 <13>1 a\nb5 <13>c"));
+
+        assertThat(frames, contains("<13>1 a\nb", "<13>c"));
+    }
+
+    @Test
+    public void dadoQuadrosDelimitadosPorQuebraDeLinha_quandoDecodificar_entaoDeveSepararMensagens() {
+        SyslogFrameDecoder decoder = new SyslogFrameDecoder(1024);
+
+        List<String> frames = decoder.decode(buffer("<13>a\n<13>b\n"));
+
+        assertThat(frames, contains("<13>a", "<13>b"));
+    }
+
+    @Test
+    public void dadoQuadroDivididoEmVariasLeituras_quandoDecodificar_entaoDeveAguardarQuadroCompleto() {
+        SyslogFrameDecoder decoder = new SyslogFrameDecoder(1024);
+
+        assertThat(decoder.decode(buffer("8 <13")), empty());
+        assertThat(decoder.decode(buffer(">abcd<13>x")), contains("<13>abcd"));
+        assertThat(decoder.decode(buffer("\n")), contains("<13>x"));
+    }
+
+    private ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
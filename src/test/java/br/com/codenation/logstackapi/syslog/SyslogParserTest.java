@@ -0,0 +1,61 @@
+package br.com.codenation.logstackapi.syslog;
+
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class SyslogParserTest {
+
+    private final SyslogParser parser = new SyslogParser(ZoneOffset.UTC);
+
+    @Test
+    public void dadoMensagemRfc5424_quandoInterpretar_entaoDeveExtrairCampos() {
+        SyslogMessage message = parser.parse("<165>1 2003-10-11T22:14:15.003Z mymachine.example.com evntslog - ID47 "
+                + "[exampleSDID@32473 iut=\"3\" eventSource=\"Application\" eventID=\"1011\"] An application event log entry", "10.0.0.1");
+
+        assertThat(message.getFacility(), equalTo(20));
+        assertThat(message.getSeverity(), equalTo(5));
+        assertThat(message.getLevel(), equalTo(LogLevel.INFO));
+        assertThat(message.getTimestamp(), equalTo(LocalDateTime.of(2003, 10, 11, 22, 14, 15, 3_000_000)));
+        assertThat(message.getHostname(), equalTo("mymachine.example.com"));
+        assertThat(message.getAppName(), equalTo("evntslog"));
+        assertThat(message.getMessage(), equalTo("An application event log entry"));
+    }
+
+    @Test
+    public void dadoMensagemRfc5424SemDadosEstruturados_quandoInterpretar_entaoDeveUsarOrigemComoHost() {
+        SyslogMessage message = parser.parse("<11>1 - - app - - - disk \"/\" is full\n", "10.0.0.1");
+
+        assertThat(message.getLevel(), equalTo(LogLevel.ERROR));
+        assertThat(message.getHostname(), equalTo("10.0.0.1"));
+        assertThat(message.getAppName(), equalTo("app"));
+        assertThat(message.getMessage(), equalTo("disk \"/\" is full"));
+    }
+
+    @Test
+    public void dadoMensagemRfc3164_quandoInterpretar_entaoDeveExtrairCampos() {
+        SyslogMessage message = parser.parse("<34>Oct  1 22:14:15 mymachine su[230]: 'su root' failed for lonvick on /dev/pts/8", "10.0.0.1");
+
+        assertThat(message.getLevel(), equalTo(LogLevel.FATAL));
+        assertThat(message.getTimestamp().getMonthValue(), equalTo(10));
+        assertThat(message.getTimestamp().getDayOfMonth(), equalTo(1));
+        assertThat(message.getHostname(), equalTo("mymachine"));
+        assertThat(message.getAppName(), equalTo("su"));
+        assertThat(message.getMessage(), equalTo("'su root' failed for lonvick on /dev/pts/8"));
+    }
+
+    @Test
+    public void dadoMensagemSemPrioridade_quandoInterpretar_entaoDeveUsarPrioridadePadrao() {
+        SyslogMessage message = parser.parse("just a line", "10.0.0.1");
+
+        assertThat(message.getSeverity(), equalTo(5));
+        assertThat(message.getHostname(), equalTo("10.0.0.1"));
+        assertThat(message.getMessage(), equalTo("just a line"));
+    }
+
+}
@@ -0,0 +1,143 @@
+package br.com.codenation.logstackapi.syslog;
+
+import br.com.codenation.logstackapi.builders.CustomerBuilder;
+import br.com.codenation.logstackapi.exception.TooManyRequestsException;
+import br.com.codenation.logstackapi.model.entity.Customer;
+import br.com.codenation.logstackapi.model.entity.Log;
+import br.com.codenation.logstackapi.model.enums.LogEnvironment;
+import br.com.codenation.logstackapi.model.enums.LogLevel;
+import br.com.codenation.logstackapi.service.LogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class SyslogServerTest {
+
+    private LogService logService;
+    private SimpleMeterRegistry registry;
+    private SyslogServer server;
+    private Customer customer;
+
+    @Before
+    public void setUp() throws IOException {
+        logService = Mockito.mock(LogService.class);
+        registry = new SimpleMeterRegistry();
+        customer = CustomerBuilder.codenation().build();
+        Mockito.when(logService.admit(eq(customer.getApiKey()), anyInt())).thenReturn(customer);
+
+        String apiKey = customer.getApiKey().toString();
+        server = new SyslogServer(logService, registry, true, "127.0.0.1",
+                0, apiKey, 0, apiKey, LogEnvironment.TEST, 2, 50L, 65536);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void dadoMensagensUdp_quandoReceber_entaoDeveGravarEmLote() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket()) {
+            send(socket, "<11>1 2019-10-11T22:14:15Z web01 checkout - - - payment failed");
+            send(socket, "<14>Oct 11 22:14:16 web01 checkout[42]: payment retried");
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 2
+                        && logs.get(0).getDetail().getLevel() == LogLevel.ERROR
+                        && logs.get(0).getApplication().getHost().equals("web01")
+                        && logs.get(0).getApplication().getName().equals("checkout")
+                        && logs.get(0).getCustomer() == customer
+                        && logs.get(1).getDetail().getLevel() == LogLevel.INFO));
+    }
+
+    @Test
+    public void dadoMensagensTcp_quandoReceber_entaoDeveSepararQuadrosEGravar() throws IOException {
+        String framed = "<11>1 - web02 api - - - first\n";
+        String counted = "<15>1 - web02 api - - - second";
+        String payload = framed + counted.length() + " " + counted;
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getTcpPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(payload.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 2
+                        && logs.get(0).getTitle().equals("first")
+                        && logs.get(1).getDetail().getLevel() == LogLevel.DEBUG
+                        && logs.get(1).getApplication().getEnvironment() == LogEnvironment.TEST));
+    }
+
+    @Test
+    public void dadoHostMaiorQueAColuna_quandoReceber_entaoDeveTruncar() throws IOException {
+        String host = String.join("", Collections.nCopies(300, "h"));
+        try (DatagramSocket socket = new DatagramSocket()) {
+            send(socket, "<11>1 2019-10-11T22:14:15Z " + host + " checkout - - - payment failed");
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 1 && logs.get(0).getApplication().getHost().equals(host.substring(0, 255))));
+    }
+
+    @Test
+    public void dadoLogRecusadoPeloBanco_quandoGravarLote_entaoDeveGravarOsDemais() throws IOException {
+        Mockito.when(logService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Log> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> log.getTitle().equals("rejected"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return logs;
+        });
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            send(socket, "<11>1 - web01 checkout - - - rejected");
+            send(socket, "<11>1 - web01 checkout - - - accepted");
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).saveAll(argThat((List<Log> logs) ->
+                logs.size() == 1 && logs.get(0).getTitle().equals("accepted")));
+    }
+
+    @Test
+    public void dadoClienteAcimaDoLimite_quandoReceber_entaoNaoDeveGravarNemContarComoPerda() throws IOException {
+        Mockito.when(logService.admit(eq(customer.getApiKey()), anyInt()))
+                .thenThrow(new TooManyRequestsException("Ingestion rate limit exceeded", 1L));
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            send(socket, "<11>1 - web01 checkout - - - payment failed");
+        }
+
+        Mockito.verify(logService, Mockito.timeout(2000)).admit(customer.getApiKey(), 1);
+        Mockito.verify(logService, Mockito.after(200).never()).saveAll(anyList());
+        assertThat(registry.get("logstack.syslog.dropped").counter().count(), equalTo(0.0));
+    }
+
+    private void send(DatagramSocket socket, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        socket.send(new DatagramPacket(bytes, bytes.length, InetAddress.getLoopbackAddress(), server.getUdpPort()));
+    }
+
+}
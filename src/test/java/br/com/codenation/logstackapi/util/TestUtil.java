@@ -3,6 +3,7 @@ package br.com.codenation.logstackapi.util;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.io.IOException;
@@ -17,4 +18,12 @@ public class TestUtil {
         return mapper.writeValueAsBytes(object);
     }
 
+    public static byte[] convertObjectToCborBytes(Object object) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper.writeValueAsBytes(object);
+    }
+
 }
\ No newline at end of file